@@ -0,0 +1,122 @@
+package com.example.worknest.jmh;
+
+import com.example.worknest.WorkNestApplication;
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.model.User;
+import com.example.worknest.service.DashboardStatsService;
+import com.example.worknest.service.TaskMembershipIndex;
+import com.example.worknest.service.TaskSearchService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * The application on a fresh in-memory H2 database holding {@code users} users and
+ * {@code tasks} tasks, each assigned to one or two users, with statuses spread evenly and a
+ * quarter of the due dates in the past. Rows are inserted through the EntityManager in batches;
+ * the in-memory indexes are then rebuilt the way they are at startup.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final int CHUNK = 500;
+
+    @Param("100")
+    public int users;
+
+    @Param({"1000", "10000"})
+    public int tasks;
+
+    /** "sync" or "async"; see worknest.activity.write-mode */
+    @Param("async")
+    public String activityWriteMode;
+
+    ConfigurableApplicationContext app;
+    long[] userIds;
+    long[] taskIds;
+    LocalDate today;
+
+    @Setup(Level.Trial)
+    public void start() {
+        app = new SpringApplicationBuilder(WorkNestApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "worknest.activity.write-mode=" + activityWriteMode)
+                .run();
+        today = LocalDate.now();
+        seed();
+        app.getBean(TaskMembershipIndex.class).load();
+        app.getBean(DashboardStatsService.class).reconcile();
+        app.getBean(TaskSearchService.class).load();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        app.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return app.getBean(type);
+    }
+
+    private void seed() {
+        TransactionTemplate tx = bean(TransactionTemplate.class);
+        EntityManager em = bean(EntityManager.class);
+        SplittableRandom random = new SplittableRandom(42);
+
+        userIds = new long[users];
+        tx.executeWithoutResult(s -> {
+            for (int u = 0; u < users; u++) {
+                User user = User.builder().username("jmh-" + u).password("{noop}jmh").role("USER").build();
+                em.persist(user);
+                userIds[u] = user.getId();
+            }
+        });
+
+        taskIds = new long[tasks];
+        for (int base = 0; base < tasks; base += CHUNK) {
+            int from = base;
+            tx.executeWithoutResult(s -> {
+                for (int i = from; i < Math.min(from + CHUNK, tasks); i++) {
+                    TaskStatus status = STATUSES[i % STATUSES.length];
+                    LocalDate dueDate = today.plusDays(random.nextInt(-10, 30));
+                    Task task = Task.builder()
+                            .title("Task " + i)
+                            .description("Seeded task " + i)
+                            .status(status)
+                            .overdue(status.isOverdue(dueDate, today))
+                            .startDate(today.minusDays(30))
+                            .dueDate(dueDate)
+                            .assignees(assignees(em, i))
+                            .build();
+                    em.persist(task); // ids come from the pooled sequence, no flush needed
+                    taskIds[i] = task.getId();
+                }
+                em.flush();
+                em.clear();
+            });
+        }
+    }
+
+    private Set<User> assignees(EntityManager em, int i) {
+        Set<User> assignees = new HashSet<>();
+        assignees.add(em.getReference(User.class, userIds[i % users]));
+        if (i % 3 == 0) assignees.add(em.getReference(User.class, userIds[(i + 1) % users]));
+        return assignees;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.worknest.jmh;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} writes and reads against a {@link SeededApplication}. Sample-time mode gives
+ * the latency percentiles next to the throughput; add {@code -prof gc} for allocation per op.
+ * {@code create} grows the task table by one row per call for the rest of the trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskServiceBenchmark {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private TaskService tasks;
+    private SeededApplication data;
+    private final SplittableRandom random = new SplittableRandom();
+
+    @Setup
+    public void setUp(SeededApplication data) {
+        this.data = data;
+        this.tasks = data.bean(TaskService.class);
+    }
+
+    @Benchmark
+    public Task create() {
+        return tasks.create("Benchmark task", "Created by TaskServiceBenchmark",
+                List.of(randomUser(), randomUser()), data.today, data.today.plusDays(7));
+    }
+
+    @Benchmark
+    public Task updateStatus() {
+        return tasks.updateStatus(randomTask(), STATUSES[random.nextInt(STATUSES.length)]);
+    }
+
+    @Benchmark
+    public List<Task> findAll() {
+        return tasks.findAll();
+    }
+
+    @Benchmark
+    public List<Task> findByAssignee() {
+        return tasks.findByAssignee(randomUser());
+    }
+
+    @Benchmark
+    public long countByStatus() {
+        return tasks.countByStatus(STATUSES[random.nextInt(STATUSES.length)]);
+    }
+
+    @Benchmark
+    public long countDelayed() {
+        return tasks.countDelayed();
+    }
+
+    private long randomTask() {
+        return data.taskIds[random.nextInt(data.taskIds.length)];
+    }
+
+    private long randomUser() {
+        return data.userIds[random.nextInt(data.userIds.length)];
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.worknest.jmh;
+
+import com.example.worknest.model.TaskComment;
+import com.example.worknest.model.User;
+import com.example.worknest.service.TaskActivityService;
+import com.example.worknest.service.TaskCommentService;
+import com.example.worknest.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appending to a task's comments and activity log. With the default {@code activityWriteMode=async}
+ * {@code log} measures the hand-off to the background writer; run with
+ * {@code -p activityWriteMode=sync} to include the insert.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TimelineBenchmark {
+
+    private TaskCommentService comments;
+    private TaskActivityService activities;
+    private SeededApplication data;
+    private User author;
+    private final SplittableRandom random = new SplittableRandom();
+
+    @Setup
+    public void setUp(SeededApplication data) {
+        this.data = data;
+        this.comments = data.bean(TaskCommentService.class);
+        this.activities = data.bean(TaskActivityService.class);
+        this.author = data.bean(UserService.class).getById(data.userIds[0]);
+    }
+
+    @Benchmark
+    public TaskComment addComment() {
+        return comments.add(randomTask(), author.getId(), "Benchmark comment");
+    }
+
+    @Benchmark
+    public void logActivity() {
+        activities.log(randomTask(), author, "Status Update", "Marked as IN_PROGRESS");
+    }
+
+    private long randomTask() {
+        return data.taskIds[random.nextInt(data.taskIds.length)];
+    }
+}
@@ -2,12 +2,25 @@ package com.example.worknest;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableCaching
 public class WorkNestApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(WorkNestApplication.class, args);
 	}
 
+	/** Time source of the due-date sweep; tests swap in a fixed one */
+	@Bean
+	Clock clock() {
+		return Clock.systemDefaultZone();
+	}
+
 }
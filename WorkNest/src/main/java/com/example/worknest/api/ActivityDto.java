@@ -0,0 +1,15 @@
+package com.example.worknest.api;
+
+import com.example.worknest.model.TaskActivity;
+
+import java.time.LocalDateTime;
+
+/** An activity log entry; {@code performedBy} is null for system actions */
+public record ActivityDto(Long id, String performedBy, String action, String details, LocalDateTime createdAt) {
+
+    public static ActivityDto of(TaskActivity activity) {
+        return new ActivityDto(activity.getId(),
+                activity.getPerformedBy() != null ? activity.getPerformedBy().getUsername() : null,
+                activity.getAction(), activity.getDetails(), activity.getCreatedAt());
+    }
+}
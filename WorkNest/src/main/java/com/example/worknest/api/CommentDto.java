@@ -0,0 +1,13 @@
+package com.example.worknest.api;
+
+import com.example.worknest.model.TaskComment;
+
+import java.time.LocalDateTime;
+
+public record CommentDto(Long id, String author, String content, LocalDateTime createdAt) {
+
+    public static CommentDto of(TaskComment comment) {
+        return new CommentDto(comment.getId(), comment.getAuthor().getUsername(), comment.getContent(),
+                comment.getCreatedAt());
+    }
+}
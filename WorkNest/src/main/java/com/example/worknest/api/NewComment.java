@@ -0,0 +1,5 @@
+package com.example.worknest.api;
+
+/** Body of {@code POST /api/v1/tasks/{id}/comments} */
+public record NewComment(String content) {
+}
@@ -0,0 +1,10 @@
+package com.example.worknest.api;
+
+import java.util.List;
+
+/**
+ * One keyset page. Pass {@code next} back as the {@code after} parameter to get the following
+ * page; it is null on the last one.
+ */
+public record PageDto<T>(List<T> items, String next) {
+}
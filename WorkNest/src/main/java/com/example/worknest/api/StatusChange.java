@@ -0,0 +1,7 @@
+package com.example.worknest.api;
+
+import com.example.worknest.model.TaskStatus;
+
+/** Body of {@code POST /api/v1/tasks/{id}/status} */
+public record StatusChange(TaskStatus status) {
+}
@@ -0,0 +1,187 @@
+package com.example.worknest.api;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskActivity;
+import com.example.worknest.model.TaskComment;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.repository.TimelineStamp;
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.TaskActivityService;
+import com.example.worknest.service.TaskCommentService;
+import com.example.worknest.service.TaskCursor;
+import com.example.worknest.service.TaskFilter;
+import com.example.worknest.service.TaskPage;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.TaskSort;
+import com.example.worknest.service.TimelineCursor;
+import com.example.worknest.service.TimelinePage;
+import com.example.worknest.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * JSON API over tasks, their comments and their activity log.
+ *
+ * <p>Single-task and timeline responses carry a strong ETag: the task's {@code @Version} for a
+ * task, the entry count and newest id for a timeline. Both are read with an index-only query,
+ * so a conditional GET that matches answers 304 without loading the task, its assignees or any
+ * comment. Users see only the tasks assigned to them; admins see everything.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/tasks")
+public class TaskApiController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // clients may cache, but must revalidate with If-None-Match every time
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final TaskService taskService;
+    private final TaskCommentService commentService;
+    private final TaskActivityService activityService;
+    private final UserService userService;
+
+    /** Active tasks ordered by (dueDate, id) or newest activity first; users always get only their own */
+    @GetMapping
+    public PageDto<TaskDto> list(@RequestParam(required = false) TaskStatus status,
+                                 @RequestParam(defaultValue = "false") boolean delayed,
+                                 @RequestParam(required = false) Long assigneeId,
+                                 @RequestParam(required = false) String title,
+                                 @RequestParam(defaultValue = "DUE_DATE") TaskSort sort,
+                                 @RequestParam(required = false) String after,
+                                 @RequestParam(defaultValue = "20") int size,
+                                 @AuthenticationPrincipal WorkNestUserDetails me) {
+        Long assignee = me.isAdmin() ? assigneeId : me.getId();
+        TaskFilter filter = new TaskFilter(status, delayed, assignee, title, sort, false);
+        TaskPage page = taskService.findPage(filter, TaskCursor.decode(after), pageSize(size));
+        return new PageDto<>(page.tasks().stream().map(TaskDto::of).toList(), page.nextCursor());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskDto> get(@PathVariable Long id,
+                                       @AuthenticationPrincipal WorkNestUserDetails me,
+                                       ServletWebRequest request) {
+        checkAccess(id, me);
+        long version = taskService.findVersion(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        if (notModified(request, taskETag(id, version))) return null;
+
+        Task task = taskService.getById(id);
+        return ResponseEntity.ok().eTag(taskETag(id, task.getVersion())).cacheControl(REVALIDATE).body(TaskDto.of(task));
+    }
+
+    /**
+     * Change the status; with If-Match the change only applies to the version the client saw
+     * (checked on the locked task), otherwise 412
+     */
+    @PostMapping("/{id}/status")
+    public ResponseEntity<TaskDto> updateStatus(@PathVariable Long id,
+                                                @RequestBody StatusChange change,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @AuthenticationPrincipal WorkNestUserDetails me) {
+        checkAccess(id, me);
+        if (change.status() == null) throw new IllegalArgumentException("Status is required");
+        Task task = ifMatch == null || ifMatch.equals("*")
+                ? taskService.updateStatus(id, change.status())
+                : taskService.updateStatus(id, change.status(), versionOf(id, ifMatch));
+        activityService.log(task, userService.getById(me.getId()), "Status Update", "Marked as " + change.status().name());
+        return ResponseEntity.ok().eTag(taskETag(id, task.getVersion())).body(TaskDto.of(task));
+    }
+
+    /** Comments, newest first */
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<PageDto<CommentDto>> comments(@PathVariable Long id,
+                                                        @RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = "20") int size,
+                                                        @AuthenticationPrincipal WorkNestUserDetails me,
+                                                        ServletWebRequest request) {
+        checkAccess(id, me);
+        String etag = timelineETag("c", id, commentService.stamp(id));
+        if (notModified(request, etag)) return null;
+
+        TimelinePage<TaskComment> page = commentService.listPage(id, TimelineCursor.decode(after), pageSize(size));
+        PageDto<CommentDto> body = new PageDto<>(page.items().stream().map(CommentDto::of).toList(), page.nextCursor());
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body);
+    }
+
+    @PostMapping("/{id}/comments")
+    public ResponseEntity<CommentDto> addComment(@PathVariable Long id,
+                                                 @RequestBody NewComment comment,
+                                                 @AuthenticationPrincipal WorkNestUserDetails me) {
+        checkAccess(id, me);
+        TaskComment saved = commentService.add(id, me.getId(), comment.content());
+        activityService.logComment(saved, userService.getById(me.getId()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(CommentDto.of(saved));
+    }
+
+    /** Activity log, newest first */
+    @GetMapping("/{id}/activities")
+    public ResponseEntity<PageDto<ActivityDto>> activities(@PathVariable Long id,
+                                                           @RequestParam(required = false) String after,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           @AuthenticationPrincipal WorkNestUserDetails me,
+                                                           ServletWebRequest request) {
+        checkAccess(id, me);
+        String etag = timelineETag("a", id, activityService.stamp(id));
+        if (notModified(request, etag)) return null;
+
+        TimelinePage<TaskActivity> page = activityService.getPage(id, TimelineCursor.decode(after), pageSize(size));
+        PageDto<ActivityDto> body = new PageDto<>(page.items().stream().map(ActivityDto::of).toList(), page.nextCursor());
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body);
+    }
+
+    private void checkAccess(Long taskId, WorkNestUserDetails me) {
+        if (!me.isAdmin() && !taskService.isAssignee(taskId, me.getId())) {
+            throw new AccessDeniedException("Not assigned to task " + taskId);
+        }
+    }
+
+    /** Answer 304 (and set the ETag) when the client's If-None-Match is still current */
+    private static boolean notModified(ServletWebRequest request, String etag) {
+        if (!request.checkNotModified(etag)) return false;
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+        return true;
+    }
+
+    private static String taskETag(Long id, long version) {
+        return "\"t" + id + "." + version + "\"";
+    }
+
+    /** The version in an ETag of {@link #taskETag}; any other tag cannot match, so it is a 412 */
+    private static long versionOf(Long id, String etag) {
+        String prefix = "\"t" + id + ".";
+        if (etag.startsWith(prefix) && etag.endsWith("\"") && etag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+            } catch (NumberFormatException e) {
+                // falls through
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has changed");
+    }
+
+    // comments and activity entries are append-only, so count + newest id changes on every insert
+    private static String timelineETag(String kind, Long taskId, TimelineStamp stamp) {
+        Long lastId = stamp.getLastId();
+        return "\"" + kind + taskId + "." + stamp.getCount() + "." + (lastId != null ? lastId : 0) + "\"";
+    }
+
+    private static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.worknest.api;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+/** A task with its assignees; comments and activity have their own endpoints */
+public record TaskDto(Long id,
+                      String title,
+                      String description,
+                      TaskStatus status,
+                      LocalDate startDate,
+                      LocalDate dueDate,
+                      boolean frozen,
+                      boolean deleted,
+                      boolean overdue,
+                      long version,
+                      List<UserDto> assignees) {
+
+    public static TaskDto of(Task task) {
+        List<UserDto> assignees = task.getAssignees().stream()
+                .map(UserDto::of)
+                .sorted(Comparator.comparing(UserDto::id))
+                .toList();
+        return new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getStartDate(), task.getDueDate(), task.isFrozen(), task.isDeleted(), task.isOverdue(),
+                task.getVersion(), assignees);
+    }
+}
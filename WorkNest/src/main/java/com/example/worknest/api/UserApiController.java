@@ -0,0 +1,33 @@
+package com.example.worknest.api;
+
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/users")
+public class UserApiController {
+
+    private final UserService userService;
+
+    /** The authenticated user */
+    @GetMapping("/me")
+    public UserDto me(@AuthenticationPrincipal WorkNestUserDetails me) {
+        return new UserDto(me.getId(), me.getUsername(), me.getRole());
+    }
+
+    /** All users; admins only */
+    @GetMapping
+    public List<UserDto> list(@AuthenticationPrincipal WorkNestUserDetails me) {
+        if (!me.isAdmin()) throw new AccessDeniedException("Admins only");
+        return userService.findAll().stream().map(UserDto::of).toList();
+    }
+}
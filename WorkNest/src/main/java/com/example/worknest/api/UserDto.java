@@ -0,0 +1,11 @@
+package com.example.worknest.api;
+
+import com.example.worknest.model.User;
+
+/** A user as exposed by the API (never the password hash) */
+public record UserDto(Long id, String username, String role) {
+
+    public static UserDto of(User user) {
+        return new UserDto(user.getId(), user.getUsername(), user.getRole());
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.worknest.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps recently used sessions of a shared session store (Spring Session JDBC) in memory, so most
+ * requests neither read nor write the session tables.
+ *
+ * <p>Each request works on its own copy of the cached state. On save only what the request
+ * changed (attributes, timeout, id) is replayed onto the stored session and written. A request
+ * that only moved the last-access time writes nothing until the stored time is
+ * {@code touchInterval} old, so expiry in the database lags by at most that much. Cached copies
+ * live for {@code ttl}, which bounds how long a change made by another instance (logout, a
+ * session expired by the concurrent-session limit) can go unnoticed here.
+ */
+public class CachingSessionRepository<S extends Session>
+        implements FindByIndexNameSessionRepository<CachingSessionRepository<S>.CachedSession> {
+
+    private final FindByIndexNameSessionRepository<S> delegate;
+    private final Cache<String, Snapshot> cache;
+    private final Duration touchInterval;
+
+    public CachingSessionRepository(FindByIndexNameSessionRepository<S> delegate, Duration ttl, long maxSize,
+                                    Duration touchInterval) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).recordStats().build();
+        this.touchInterval = touchInterval;
+    }
+
+    Cache<String, ?> cache() {
+        return cache;
+    }
+
+    @Override
+    public CachedSession createSession() {
+        S stored = delegate.createSession();
+        return new CachedSession(new MapSession(stored), null, stored);
+    }
+
+    @Override
+    public void save(CachedSession session) {
+        if (!session.isDirty()) return;
+
+        String previousId = session.storedId;
+        S stored = session.stored();
+        if (stored == null) {
+            // logged out or expired on another instance; do not bring it back
+            cache.invalidate(previousId);
+            return;
+        }
+        for (String name : session.changedAttributes) {
+            stored.setAttribute(name, session.state.getAttribute(name)); // null removes it
+        }
+        stored.setMaxInactiveInterval(session.state.getMaxInactiveInterval());
+        stored.setLastAccessedTime(session.state.getLastAccessedTime());
+        delegate.save(stored);
+
+        if (previousId != null && !previousId.equals(stored.getId())) cache.invalidate(previousId);
+        cache.put(stored.getId(), new Snapshot(new MapSession(stored), stored.getLastAccessedTime()));
+        session.saved(stored);
+    }
+
+    @Override
+    public CachedSession findById(String id) {
+        Snapshot cached = cache.getIfPresent(id);
+        if (cached != null && !cached.session.isExpired()) {
+            return new CachedSession(new MapSession(cached.session), cached.storedLastAccess, null);
+        }
+
+        S stored = delegate.findById(id);
+        if (stored == null) {
+            cache.invalidate(id);
+            return null;
+        }
+        cache.put(id, new Snapshot(new MapSession(stored), stored.getLastAccessedTime()));
+        return new CachedSession(new MapSession(stored), stored.getLastAccessedTime(), stored);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        cache.invalidate(id);
+        delegate.deleteById(id);
+    }
+
+    /** Not cached: only used at login, to count and expire a user's other sessions */
+    @Override
+    public Map<String, CachedSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        Map<String, CachedSession> sessions = new LinkedHashMap<>();
+        delegate.findByIndexNameAndIndexValue(indexName, indexValue).forEach((id, stored) ->
+                sessions.put(id, new CachedSession(new MapSession(stored), stored.getLastAccessedTime(), stored)));
+        return sessions;
+    }
+
+    /** Session state as last read or written, and the last-access time the store has for it */
+    private record Snapshot(MapSession session, Instant storedLastAccess) {
+    }
+
+    /**
+     * A request's copy of a session. The stored session is only loaded when something has to be
+     * written (or was loaded anyway on a cache miss).
+     */
+    public final class CachedSession implements Session {
+
+        private final MapSession state;
+        private final Set<String> changedAttributes = new HashSet<>();
+        private String storedId;          // null until first saved
+        private Instant storedLastAccess; // null until first saved
+        private S stored;
+        private boolean settingsChanged;
+
+        private CachedSession(MapSession state, Instant storedLastAccess, S stored) {
+            this.state = state;
+            this.storedLastAccess = storedLastAccess;
+            this.storedId = storedLastAccess == null ? null : state.getId();
+            this.stored = stored;
+        }
+
+        private boolean isDirty() {
+            return storedId == null || settingsChanged || !changedAttributes.isEmpty()
+                    || !storedId.equals(state.getId())
+                    || Duration.between(storedLastAccess, state.getLastAccessedTime()).compareTo(touchInterval) >= 0;
+        }
+
+        private S stored() {
+            if (stored == null && storedId != null) stored = delegate.findById(storedId);
+            return stored;
+        }
+
+        private void saved(S stored) {
+            state.setId(stored.getId());
+            storedId = stored.getId();
+            storedLastAccess = stored.getLastAccessedTime();
+            changedAttributes.clear();
+            settingsChanged = false;
+        }
+
+        @Override
+        public String getId() {
+            return state.getId();
+        }
+
+        /** Uses the store's id generator, so the id handed out here is the one that gets saved */
+        @Override
+        public String changeSessionId() {
+            S target = stored();
+            if (target == null) {
+                // gone from the store; carry this request's state over to a new session
+                cache.invalidate(storedId);
+                target = delegate.createSession();
+                changedAttributes.addAll(state.getAttributeNames());
+                settingsChanged = true;
+                stored = target;
+                storedId = null;
+                storedLastAccess = null;
+                return setId(target.getId());
+            }
+            return setId(target.changeSessionId());
+        }
+
+        private String setId(String id) {
+            state.setId(id);
+            return id;
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return state.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return state.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            state.setAttribute(attributeName, attributeValue);
+            changedAttributes.add(attributeName);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            state.removeAttribute(attributeName);
+            changedAttributes.add(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return state.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            state.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return state.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            state.setMaxInactiveInterval(interval);
+            settingsChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return state.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.isExpired();
+        }
+    }
+}
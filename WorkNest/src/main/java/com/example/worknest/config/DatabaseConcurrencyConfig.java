@@ -0,0 +1,57 @@
+package com.example.worknest.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application {@link DataSource} in a {@link ConcurrencyLimitedDataSource} when
+ * {@code worknest.db.concurrency-limit.enabled=true} (the "virtual" profile turns it on).
+ * The permit count defaults to the Hikari pool size and the wait to Hikari's connection
+ * timeout, so callers see the same limits as before, just queued in front of the pool.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "worknest.db.concurrency-limit.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    @Bean
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) return bean;
+
+                int permits = env.getProperty("worknest.db.concurrency-limit.permits", Integer.class, 0);
+                if (permits <= 0) permits = hikari.getMaximumPoolSize();
+                Duration timeout = Duration.ofMillis(hikari.getConnectionTimeout());
+
+                log.info("Limiting concurrent database access to {} connections (wait up to {} ms)",
+                        permits, timeout.toMillis());
+                return new ConcurrencyLimitedDataSource(hikari, permits, timeout);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder databasePermitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof ConcurrencyLimitedDataSource limited)) return;
+            Gauge.builder("worknest.db.permits.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                    .description("Database permits not currently in use")
+                    .register(registry);
+            Gauge.builder("worknest.db.permits.waiting", limited, ConcurrencyLimitedDataSource::getWaiting)
+                    .description("Callers queued for a database permit")
+                    .register(registry);
+        };
+    }
+}
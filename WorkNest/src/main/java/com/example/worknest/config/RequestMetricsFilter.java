@@ -0,0 +1,78 @@
+package com.example.worknest.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Counts the SQL statements each request runs ({@code worknest.http.sql.statements}, tagged with
+ * the method and URI pattern) and logs requests slower than
+ * {@code worknest.slow-request.threshold} with their statement count, so a page that hammers the
+ * database stands out. Runs outside Spring Security so login and access checks are included.
+ * Request latency itself is {@code http.server.requests}, recorded by Spring MVC.
+ *
+ * <p>The count is also left in the {@link #SQL_STATEMENTS} request attribute, which is how the
+ * tests enforce per-endpoint query budgets.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String SQL_STATEMENTS = RequestMetricsFilter.class.getName() + ".sqlStatements";
+
+    private final MeterRegistry meters;
+    private final long thresholdNanos;
+
+    public RequestMetricsFilter(MeterRegistry meters,
+                                @Value("${worknest.slow-request.threshold:PT1S}") Duration threshold) {
+        this.meters = meters;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.stop();
+            request.setAttribute(SQL_STATEMENTS, statements);
+            long elapsed = System.nanoTime() - start;
+            // live update streams stay open for minutes; only their setup ran here
+            if (!request.isAsyncStarted()) record(request, response, statements, elapsed);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, int statements, long elapsedNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("worknest.http.sql.statements")
+                .description("SQL statements run by Hibernate per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meters)
+                .record(statements);
+
+        if (elapsedNanos >= thresholdNanos) {
+            log.warn("Slow request {} {} ({}): {} ms, {} SQL statements, status {}",
+                    request.getMethod(), request.getRequestURI(), uri, elapsedNanos / 1_000_000, statements,
+                    response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.worknest.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+import java.time.Duration;
+
+/**
+ * Puts a {@link CachingSessionRepository} in front of the Spring Session JDBC repository when
+ * sessions are stored in the database (the "shared-sessions" profile). Without that profile
+ * sessions stay in the servlet container and nothing here applies.
+ * {@code worknest.session.cache-ttl=0} turns the cache off.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class SessionStoreConfig {
+
+    @Bean
+    static BeanPostProcessor cachingSessionRepositoryPostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof JdbcIndexedSessionRepository jdbc)) return bean;
+
+                Duration ttl = env.getProperty("worknest.session.cache-ttl", Duration.class, Duration.ofSeconds(5));
+                if (ttl.isZero()) return bean;
+                long maxSize = env.getProperty("worknest.session.cache-size", Long.class, 10_000L);
+                Duration touchInterval = env.getProperty("worknest.session.touch-interval", Duration.class, Duration.ofMinutes(1));
+
+                log.info("Caching database sessions for {} (up to {}), last-access writes every {}",
+                        ttl, maxSize, touchInterval);
+                return new CachingSessionRepository<>(jdbc, ttl, maxSize, touchInterval);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder sessionCacheMetrics(ObjectProvider<FindByIndexNameSessionRepository<?>> sessions) {
+        return registry -> {
+            if (!(sessions.getIfAvailable() instanceof CachingSessionRepository<?> cached)) return;
+            CaffeineCacheMetrics.monitor(registry, cached.cache(), "sessions");
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.worknest.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and
+ * {@link #stop()}; {@link RequestMetricsFilter} brackets every request with them. Registered
+ * through {@code hibernate.session_factory.statement_inspector}, so JdbcTemplate queries (the
+ * in-memory indexes, the activity writer) are not included.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /** Statements since {@link #start()}; 0 when counting was not started on this thread */
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) count[0]++;
+        return sql;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.worknest.config;
+
+import com.example.worknest.storage.DataSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Snapshot support. With {@code worknest.storage.restore-from} set, an empty database is filled
+ * from that snapshot right after the Flyway migrations, before Hibernate and the in-memory
+ * indexes start, so the application comes up with the data already in place. A database that
+ * already has data is left alone, so the setting can stay on for a file-backed database; the
+ * restore is a single transaction, so a failed one leaves no data behind and the next start
+ * tries again.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class StorageConfig {
+
+    @Bean
+    DataSnapshot dataSnapshot(DataSource dataSource) {
+        return new DataSnapshot(dataSource);
+    }
+
+    @Bean
+    FlywayMigrationStrategy restoringMigrationStrategy(DataSnapshot snapshot,
+                                                       @Value("${worknest.storage.restore-from:}") String restoreFrom) {
+        return flyway -> {
+            flyway.migrate();
+            if (restoreFrom.isBlank()) return;
+            if (!snapshot.isEmpty()) {
+                log.info("Database already has data, not restoring {}", restoreFrom);
+                return;
+            }
+            long start = System.nanoTime();
+            try (InputStream in = Files.newInputStream(Path.of(restoreFrom))) {
+                Map<String, Long> rows = snapshot.restore(in);
+                log.info("Restored {} in {} ms: {}", restoreFrom, (System.nanoTime() - start) / 1_000_000, rows);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read snapshot " + restoreFrom, e);
+            }
+        };
+    }
+}
@@ -1,22 +1,54 @@
 package com.example.worknest.controller;
 
 import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskActivity;
+import com.example.worknest.model.TaskComment;
 import com.example.worknest.model.TaskStatus;
 import com.example.worknest.model.User;
+import com.example.worknest.security.PasswordHashingBusyException;
+import com.example.worknest.service.BulkResult;
+import com.example.worknest.service.DashboardStats;
+import com.example.worknest.service.DashboardStatsService;
 import com.example.worknest.service.TaskActivityService;
+import com.example.worknest.service.TaskArchiveService;
 import com.example.worknest.service.TaskCommentService;
+import com.example.worknest.service.TaskCursor;
+import com.example.worknest.service.TaskFilter;
+import com.example.worknest.service.TaskImportService;
+import com.example.worknest.service.TaskPage;
+import com.example.worknest.service.TaskSelection;
 import com.example.worknest.service.TaskService;
+import com.example.worknest.service.TaskSort;
+import com.example.worknest.service.TimelineCursor;
+import com.example.worknest.service.TimelinePage;
 import com.example.worknest.service.UserService;
+import com.example.worknest.storage.DataSnapshot;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/admin")
@@ -26,14 +58,25 @@ public class AdminController {
     private final TaskService taskService;
     private final TaskCommentService commentService;
     private final TaskActivityService activityService;
+    private final TaskArchiveService archiveService;
+    private final DashboardStatsService statsService;
+    private final TaskImportService importService;
+    private final FragmentCache fragments;
+    private final DataSnapshot snapshot;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int TIMELINE_PAGE_SIZE = 20;
 
     /** Dashboard (stats only) */
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
-        model.addAttribute("countPending", taskService.countByStatus(TaskStatus.PENDING));
-        model.addAttribute("countInProgress", taskService.countByStatus(TaskStatus.IN_PROGRESS));
-        model.addAttribute("countCompleted", taskService.countByStatus(TaskStatus.COMPLETED));
-        model.addAttribute("countDelayed", taskService.countDelayed(LocalDate.now()));
+        model.addAttribute("statsHtml", fragments.render("admin-dashboard", "stats", "global", vars -> {
+            DashboardStats stats = statsService.global();
+            vars.put("countPending", stats.pending());
+            vars.put("countInProgress", stats.inProgress());
+            vars.put("countCompleted", stats.completed());
+            vars.put("countDelayed", stats.delayed());
+        }));
         return "admin-dashboard";
     }
 
@@ -60,37 +103,190 @@ public class AdminController {
         return "redirect:/admin/tasks";
     }
 
-    /** List all tasks (active only, not deleted) */
+    /** Bulk import tasks from a CSV or JSON upload */
+    @PostMapping("/tasks/import")
+    public String importTasks(@RequestParam("file") MultipartFile file, Model model) {
+        if (file.isEmpty()) {
+            model.addAttribute("importError", "Choose a non-empty CSV or JSON file to import");
+            return "admin-import-result";
+        }
+        try (InputStream in = file.getInputStream()) {
+            model.addAttribute("report",
+                    importService.importTasks(file.getOriginalFilename(), file.getContentType(), in));
+        } catch (IllegalArgumentException | IOException e) {
+            // unsupported type, bad header or unreadable upload: nothing was imported
+            model.addAttribute("importError", e.getMessage());
+        }
+        model.addAttribute("fileName", file.getOriginalFilename());
+        return "admin-import-result";
+    }
+
+    /** List tasks (active only, not deleted), one keyset page at a time */
     @GetMapping("/tasks")
-    public String tasks(Model model) {
-        List<Task> tasks = taskService.findAll();
-        List<AdminTaskRow> rows = new ArrayList<>();
-
-        for (Task t : tasks) {
-            if (t.getAssignees().isEmpty()) {
-                rows.add(new AdminTaskRow(t, null));
-            } else {
-                t.getAssignees().forEach(u -> rows.add(new AdminTaskRow(t, u)));
+    public String tasks(@RequestParam(required = false) String status,
+                        @RequestParam(required = false) Long assigneeId,
+                        @RequestParam(required = false) String q,
+                        @RequestParam(defaultValue = "DUE_DATE") TaskSort sort,
+                        @RequestParam(defaultValue = "asc") String dir,
+                        @RequestParam(required = false) String after,
+                        @RequestParam(defaultValue = "25") int size,
+                        Model model) {
+        boolean delayedOnly = "DELAYED".equalsIgnoreCase(status);
+        TaskStatus statusFilter = (status == null || status.isBlank() || delayedOnly)
+                ? null : param(() -> TaskStatus.valueOf(status.toUpperCase()));
+        boolean descending = "desc".equalsIgnoreCase(dir);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        TaskFilter filter = new TaskFilter(statusFilter, delayedOnly, assigneeId, q, sort, descending);
+        TaskCursor decoded = param(() -> TaskCursor.decode(after));
+        // a cursor from before the sort was changed: start the new order from the top
+        TaskCursor cursor = decoded != null && decoded.fits(sort) ? decoded : null;
+
+        // filters, sort and cursor fully determine the list
+        String key = String.join("|", String.valueOf(status), String.valueOf(assigneeId), String.valueOf(q),
+                sort.name(), String.valueOf(descending), String.valueOf(pageSize),
+                cursor == null ? "" : cursor.encode());
+        model.addAttribute("taskListHtml", fragments.render("admin-tasks", "taskList", key, vars -> {
+            TaskPage page = taskService.findPage(filter, cursor, pageSize);
+
+            List<AdminTaskRow> rows = new ArrayList<>();
+            for (Task t : page.tasks()) {
+                if (t.getAssignees().isEmpty()) {
+                    rows.add(new AdminTaskRow(t, null));
+                } else {
+                    t.getAssignees().forEach(u -> rows.add(new AdminTaskRow(t, u)));
+                }
             }
-        }
 
-        model.addAttribute("rows", rows);
-        model.addAttribute("today", LocalDate.now());
+            vars.put("rows", rows);
+            vars.put("nextCursor", page.nextCursor());
+            vars.put("firstPage", cursor == null);
+            vars.put("users", userService.findAll());
+            vars.put("status", status);
+            vars.put("assigneeId", assigneeId);
+            vars.put("q", q);
+            vars.put("sort", sort.name());
+            vars.put("dir", descending ? "desc" : "asc");
+            vars.put("size", pageSize);
+            vars.put("today", LocalDate.now());
+        }));
         return "admin-tasks";
     }
 
-    /** Task Details (view + comments + activities) */
+    /** Bulk status change for the selected tasks, or every task matching the filter */
+    @PostMapping("/tasks/bulk/status")
+    public String bulkStatus(@RequestParam(required = false) List<Long> ids,
+                             @RequestParam(required = false) TaskStatus filterStatus,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+                             @RequestParam TaskStatus status,
+                             RedirectAttributes redirect) {
+        return bulk(redirect, () -> {
+            BulkResult result = taskService.bulkUpdateStatus(selection(ids, filterStatus, dueBefore), status);
+            activityService.logAll(result.updatedIds(), null, "Status Updated", "Changed to " + status.name() + " (bulk update)");
+            return result;
+        });
+    }
+
+    /** Bulk freeze/unfreeze */
+    @PostMapping("/tasks/bulk/freeze")
+    public String bulkFreeze(@RequestParam(required = false) List<Long> ids,
+                             @RequestParam(required = false) TaskStatus filterStatus,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+                             @RequestParam boolean frozen,
+                             RedirectAttributes redirect) {
+        return bulk(redirect, () -> {
+            BulkResult result = taskService.bulkSetFrozen(selection(ids, filterStatus, dueBefore), frozen);
+            activityService.logAll(result.updatedIds(), null,
+                    frozen ? "Task Frozen" : "Task Unfrozen",
+                    (frozen ? "Admin has frozen this task" : "Admin has unfrozen this task") + " (bulk update)");
+            return result;
+        });
+    }
+
+    /** Bulk reassign: replaces the assignees of every selected task */
+    @PostMapping("/tasks/bulk/assign")
+    public String bulkAssign(@RequestParam(required = false) List<Long> ids,
+                             @RequestParam(required = false) TaskStatus filterStatus,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+                             @RequestParam(required = false) List<Long> assigneeIds,
+                             RedirectAttributes redirect) {
+        return bulk(redirect, () -> {
+            BulkResult result = taskService.bulkAssign(selection(ids, filterStatus, dueBefore), assigneeIds);
+            String usernames = userService.findAllById(assigneeIds).stream()
+                    .map(User::getUsername)
+                    .collect(Collectors.joining(", "));
+            activityService.logAll(result.updatedIds(), null, "Task Reassigned",
+                    "Admin reassigned task to " + usernames + " (bulk update)");
+            return result;
+        });
+    }
+
+    private static TaskSelection selection(List<Long> ids, TaskStatus filterStatus, LocalDate dueBefore) {
+        return ids != null && !ids.isEmpty()
+                ? TaskSelection.of(ids)
+                : TaskSelection.matching(filterStatus, dueBefore);
+    }
+
+    private static String bulk(RedirectAttributes redirect, Supplier<BulkResult> operation) {
+        try {
+            BulkResult result = operation.get();
+            redirect.addFlashAttribute("bulkMessage", "Updated " + result.updated() + " of " + result.matched()
+                    + " tasks" + (result.skipped() > 0 ? " (" + result.skipped() + " frozen or unchanged)" : ""));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            redirect.addFlashAttribute("bulkError", e.getMessage());
+        }
+        return "redirect:/admin/tasks";
+    }
+
+    /** Parse a request parameter; a malformed value is the client's error (400), not ours */
+    private static <T> T param(Supplier<T> parse) {
+        try {
+            return parse.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /** Task Details (view + newest page of comments and activities) */
     @GetMapping("/tasks/{id}")
     public String taskDetails(@PathVariable Long id, Model model) {
         Task task = taskService.getById(id);
 
         model.addAttribute("task", task);
-        model.addAttribute("comments", commentService.listByTask(id));
-        model.addAttribute("activities", activityService.getForTask(id));
+        model.addAttribute("taskId", id);
+        addCommentPage(model, id, null);
+        addActivityPage(model, id, null);
 
         return "admin-task-details";
     }
 
+    /** "Load older" fragment for the activity log */
+    @GetMapping("/tasks/{id}/activities")
+    public String activityPage(@PathVariable Long id, @RequestParam String after, Model model) {
+        model.addAttribute("taskId", id);
+        addActivityPage(model, id, after);
+        return "admin-task-details :: activityPage";
+    }
+
+    /** "Load older" fragment for the comments */
+    @GetMapping("/tasks/{id}/comments")
+    public String commentPage(@PathVariable Long id, @RequestParam String after, Model model) {
+        model.addAttribute("taskId", id);
+        addCommentPage(model, id, after);
+        return "admin-task-details :: commentPage";
+    }
+
+    private void addActivityPage(Model model, Long taskId, String after) {
+        TimelinePage<TaskActivity> page = activityService.getPage(taskId, param(() -> TimelineCursor.decode(after)), TIMELINE_PAGE_SIZE);
+        model.addAttribute("activities", page.items());
+        model.addAttribute("activitiesNext", page.nextCursor());
+    }
+
+    private void addCommentPage(Model model, Long taskId, String after) {
+        TimelinePage<TaskComment> page = commentService.listPage(taskId, param(() -> TimelineCursor.decode(after)), TIMELINE_PAGE_SIZE);
+        model.addAttribute("comments", page.items());
+        model.addAttribute("commentsNext", page.nextCursor());
+    }
+
     /** Update Task Status */
     @PostMapping("/tasks/{id}/status")
     public String updateTaskStatus(@PathVariable Long id,
@@ -105,9 +301,7 @@ public class AdminController {
     /** Freeze/Unfreeze Task */
     @PostMapping("/tasks/{id}/freeze")
     public String toggleFreeze(@PathVariable Long id) {
-        Task task = taskService.getById(id);
-        task.setFrozen(!task.isFrozen()); // toggle state
-        taskService.save(task);
+        Task task = taskService.toggleFreeze(id);
 
         // log freeze/unfreeze
         String action = task.isFrozen() ? "Task Frozen" : "Task Unfrozen";
@@ -131,14 +325,40 @@ public class AdminController {
     /** Restore Task (optional recycle bin feature) */
     @PostMapping("/tasks/{id}/restore")
     public String restoreTask(@PathVariable Long id) {
-        taskService.restore(id);
+        boolean fromArchive = taskService.restore(id);
         Task task = taskService.getById(id);
 
-        activityService.log(task, null, "Task Restored", "Task restored from soft delete");
+        activityService.log(task, null, "Task Restored",
+                fromArchive ? "Task restored from the archive" : "Task restored from soft delete");
 
         return "redirect:/admin/tasks";
     }
 
+    /** Archived tasks, most recently archived first */
+    @GetMapping("/archive")
+    public String archive(@RequestParam(required = false) String after,
+                          @RequestParam(defaultValue = "25") int size,
+                          Model model) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        TimelinePage<TaskArchiveService.ArchivedTask> page =
+                archiveService.findPage(param(() -> TimelineCursor.decode(after)), pageSize);
+
+        model.addAttribute("tasks", page.items());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("firstPage", after == null || after.isBlank());
+        model.addAttribute("size", pageSize);
+        return "admin-archive";
+    }
+
+    /** Read-only view of an archived task */
+    @GetMapping("/archive/{id}")
+    public String archivedTask(@PathVariable Long id, Model model) {
+        model.addAttribute("task", archiveService.getById(id));
+        model.addAttribute("comments", archiveService.comments(id));
+        model.addAttribute("activities", archiveService.activity(id));
+        return "admin-archived-task";
+    }
+
     /** Manage User (form only) */
     @GetMapping("/manage-user")
     public String manageUser() {
@@ -149,8 +369,17 @@ public class AdminController {
     @PostMapping("/users")
     public String addUser(@RequestParam String username,
                           @RequestParam String password,
-                          @RequestParam String role) {
-        userService.create(username, password, role);
+                          @RequestParam String role,
+                          Model model) {
+        try {
+            userService.create(username, password, role);
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", e.getMessage());
+            return "admin-manage-user";
+        } catch (PasswordHashingBusyException e) {
+            model.addAttribute("error", PasswordHashingBusyException.FORM_ERROR);
+            return "admin-manage-user";
+        }
         return "redirect:/admin/users";
     }
 
@@ -176,6 +405,20 @@ public class AdminController {
         return "redirect:/admin/users";
     }
 
+    /** Download a snapshot of all data; start with worknest.storage.restore-from=<file> to load it */
+    @GetMapping("/snapshot")
+    public void snapshot(HttpServletResponse response) throws IOException {
+        String fileName = "worknest-" + LocalDate.now() + ".snapshot";
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+        long start = System.nanoTime();
+        try (OutputStream out = response.getOutputStream()) {
+            Map<String, Long> rows = snapshot.write(out);
+            log.info("Wrote snapshot {} in {} ms: {}", fileName, (System.nanoTime() - start) / 1_000_000, rows);
+        }
+    }
+
     //  Helper for task rows 
     public static class AdminTaskRow {
         private final Task task;
@@ -1,5 +1,6 @@
 package com.example.worknest.controller;
 
+import com.example.worknest.security.PasswordHashingBusyException;
 import com.example.worknest.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -34,6 +35,9 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             model.addAttribute("error", e.getMessage());
             return "register"; // show error on registration page
+        } catch (PasswordHashingBusyException e) {
+            model.addAttribute("error", PasswordHashingBusyException.FORM_ERROR);
+            return "register";
         }
     }
 
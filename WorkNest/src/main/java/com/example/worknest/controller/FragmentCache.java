@@ -0,0 +1,151 @@
+package com.example.worknest.controller;
+
+import com.example.worknest.service.DataVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Cache of rendered Thymeleaf fragments (stats cards, task tables).
+ *
+ * <p>A page asks for a fragment by template, fragment name and a key describing its inputs
+ * (filters, user id). On a miss the caller's model builder runs — that is where the queries
+ * happen — and the fragment is rendered on its own; on a hit neither happens. Entries are only
+ * valid for the {@link DataVersion} they were rendered at, so the whole cache is dropped as soon
+ * as a task or user change commits (tasks turning overdue included).
+ *
+ * <p>Memory is bounded by {@code max-bytes} (counted as two bytes per character) with LRU
+ * eviction. With {@code enabled=false} fragments are still rendered this way but never stored.
+ */
+@Component
+class FragmentCache {
+
+    private final ITemplateEngine engine;
+    private final JakartaServletWebApplication webApplication;
+    private final DataVersion dataVersion;
+    private final boolean enabled;
+    private final long maxBytes;
+
+    // all guarded by "this"; access order makes iteration start at the least recently used entry
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private long version = -1;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    FragmentCache(ITemplateEngine engine,
+                  ServletContext servletContext,
+                  DataVersion dataVersion,
+                  MeterRegistry meters,
+                  @Value("${worknest.fragment-cache.enabled:false}") boolean enabled,
+                  @Value("${worknest.fragment-cache.max-bytes:16777216}") long maxBytes) {
+        this.engine = engine;
+        this.webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+
+        this.hits = Counter.builder("worknest.fragment.cache.gets").tag("result", "hit")
+                .description("Rendered fragment lookups").register(meters);
+        this.misses = Counter.builder("worknest.fragment.cache.gets").tag("result", "miss")
+                .description("Rendered fragment lookups").register(meters);
+        this.evictions = meters.counter("worknest.fragment.cache.evictions");
+        Gauge.builder("worknest.fragment.cache.bytes", this, FragmentCache::sizeInBytes)
+                .description("Approximate size of the cached fragments")
+                .register(meters);
+        Gauge.builder("worknest.fragment.cache.entries", this, FragmentCache::entryCount)
+                .register(meters);
+    }
+
+    /**
+     * Rendered HTML of {@code template :: fragment}.
+     *
+     * @param key   everything besides the data version that the fragment depends on
+     * @param model fills the fragment's variables; only called on a miss
+     */
+    String render(String template, String fragment, String key, Consumer<Map<String, Object>> model) {
+        if (!enabled) return process(template, fragment, model);
+
+        long v = dataVersion.current();
+        String cacheKey = template + "::" + fragment + '|' + key;
+        synchronized (this) {
+            if (v != version) {
+                // data changed since these were rendered
+                entries.clear();
+                bytes = 0;
+                version = v;
+            }
+            String html = entries.get(cacheKey);
+            if (html != null) {
+                hits.increment();
+                return html;
+            }
+        }
+
+        misses.increment();
+        String html = process(template, fragment, model);
+        long size = weight(cacheKey, html);
+        synchronized (this) {
+            // skip if a change committed while we were rendering, or it could never fit
+            if (version == v && size <= maxBytes) {
+                String previous = entries.put(cacheKey, html);
+                if (previous != null) bytes -= weight(cacheKey, previous);
+                bytes += size;
+                evictOverflow();
+            }
+        }
+        return html;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, String>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, String> e = eldest.next();
+            bytes -= weight(e.getKey(), e.getValue());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private String process(String template, String fragment, Consumer<Map<String, Object>> model) {
+        Map<String, Object> variables = new HashMap<>();
+        model.accept(variables);
+
+        ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        HttpServletRequest request = attrs.getRequest();
+        HttpServletResponse response = attrs.getResponse();
+        WebContext context = new WebContext(webApplication.buildExchange(request, response), request.getLocale(), variables);
+        return engine.process(template, Set.of(fragment), context);
+    }
+
+    private static long weight(String key, String html) {
+        return 2L * (key.length() + html.length());
+    }
+
+    private synchronized long sizeInBytes() {
+        return bytes;
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+}
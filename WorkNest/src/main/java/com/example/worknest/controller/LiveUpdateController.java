@@ -0,0 +1,49 @@
+package com.example.worknest.controller;
+
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.LiveConnectionLimitException;
+import com.example.worknest.service.LiveUpdateService;
+import com.example.worknest.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Server-Sent Event streams used by the task detail pages and the user dashboard */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/live")
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveService;
+    private final TaskService taskService;
+
+    /** Changes and new comments on one task; admins or assignees only */
+    @GetMapping(path = "/tasks/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter task(@PathVariable Long id, @AuthenticationPrincipal WorkNestUserDetails me) {
+        if (!me.isAdmin() && !taskService.isAssignee(id, me.getId())) {
+            throw new AccessDeniedException("Not assigned to task " + id);
+        }
+        return liveService.subscribeToTask(id, me.getId(), me.isAdmin());
+    }
+
+    /** Changes to any task the current user is (or was just) assigned to */
+    @GetMapping(path = "/dashboard", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter dashboard(@AuthenticationPrincipal WorkNestUserDetails me) {
+        return liveService.subscribeToDashboard(me.getId());
+    }
+
+    // connection limit reached: the page still works, it just is not updated live
+    @ExceptionHandler(LiveConnectionLimitException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void tooManyConnections() {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.worknest.controller;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.search.SearchHit;
+import com.example.worknest.search.SearchResults;
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.TaskSearchService;
+import com.example.worknest.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/search")
+public class SearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // nobody pages this far by hand; keeps the ranked prefix a search keeps bounded
+    private static final int MAX_PAGE = 1_000;
+
+    private final TaskSearchService searchService;
+    private final TaskService taskService;
+
+    /** Search titles, descriptions and comments; users only see their own tasks */
+    @GetMapping
+    public String search(@RequestParam(required = false) String q,
+                         @RequestParam(defaultValue = "0") int page,
+                         @RequestParam(defaultValue = "20") int size,
+                         @AuthenticationPrincipal WorkNestUserDetails me,
+                         Model model) {
+        int pageNo = Math.min(Math.max(page, 0), MAX_PAGE);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        SearchResults results = q == null || q.isBlank()
+                ? SearchResults.EMPTY
+                : searchService.search(q, me, pageNo, pageSize);
+        List<Task> tasks = taskService.getByIds(results.hits().stream().map(SearchHit::taskId).toList());
+
+        model.addAttribute("q", q);
+        model.addAttribute("tasks", tasks);
+        model.addAttribute("total", results.total());
+        model.addAttribute("page", pageNo);
+        model.addAttribute("size", pageSize);
+        model.addAttribute("hasNext", (long) (pageNo + 1) * pageSize < results.total());
+        model.addAttribute("admin", me.isAdmin());
+        return "search";
+    }
+}
@@ -1,21 +1,29 @@
 package com.example.worknest.controller;
 
 import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskActivity;
+import com.example.worknest.model.TaskComment;
 import com.example.worknest.model.TaskStatus;
 import com.example.worknest.model.User;
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.DashboardStats;
+import com.example.worknest.service.DashboardStatsService;
 import com.example.worknest.service.TaskActivityService;
 import com.example.worknest.service.TaskCommentService;
 import com.example.worknest.service.TaskService;
+import com.example.worknest.service.TimelineCursor;
+import com.example.worknest.service.TimelinePage;
 import com.example.worknest.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -31,48 +39,39 @@ public class UserTaskController {
     private final TaskCommentService commentService;
     private final UserService userService;
     private final TaskActivityService activityService;
+    private final DashboardStatsService statsService;
+    private final FragmentCache fragments;
+
+    private static final int TIMELINE_PAGE_SIZE = 20;
 
     /** User dashboard: list my tasks */
     @GetMapping("/dashboard")
-    public String dashboard(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        User me = userService.findByUsername(userDetails.getUsername()).orElseThrow();
-
-        List<Task> myTasks = taskService.findByAssignee(me.getId());
-
-        long countPending    = myTasks.stream().filter(t -> t.getStatus() == TaskStatus.PENDING).count();
-        long countInProgress = myTasks.stream().filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS).count();
-        long countCompleted  = myTasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
-        long countDelayed    = myTasks.stream().filter(t ->
-                t.getStatus() != TaskStatus.COMPLETED &&
-                        t.getDueDate() != null &&
-                        t.getDueDate().isBefore(LocalDate.now())
-        ).count();
-
+    public String dashboard(@AuthenticationPrincipal WorkNestUserDetails me, Model model) {
         model.addAttribute("me", me);
-        model.addAttribute("tasks", myTasks);
-        model.addAttribute("today", LocalDate.now());
-        model.addAttribute("countPending", countPending);
-        model.addAttribute("countInProgress", countInProgress);
-        model.addAttribute("countCompleted", countCompleted);
-        model.addAttribute("countDelayed", countDelayed);
+        model.addAttribute("myTasksHtml", fragments.render("user-dashboard", "myTasks", "user-" + me.getId(), vars -> {
+            DashboardStats stats = statsService.forUser(me.getId());
+
+            vars.put("tasks", taskService.findByAssignee(me.getId()));
+            vars.put("countPending", stats.pending());
+            vars.put("countInProgress", stats.inProgress());
+            vars.put("countCompleted", stats.completed());
+            vars.put("countDelayed", stats.delayed());
+        }));
         return "user-dashboard";
     }
 
     /** View a task I am assigned to */
     @GetMapping("/tasks/{id}")
     public String viewTask(@PathVariable Long id,
-                           @AuthenticationPrincipal UserDetails userDetails,
+                           @AuthenticationPrincipal WorkNestUserDetails me,
                            Model model) {
-        User me = userService.findByUsername(userDetails.getUsername()).orElseThrow();
+        if (!taskService.isAssignee(id, me.getId())) return "redirect:/user/dashboard";
 
         Task task = taskService.getById(id);
-        boolean isAssignee = task.getAssignees().stream()
-                .anyMatch(u -> u.getId().equals(me.getId()));
-        if (!isAssignee) return "redirect:/user/dashboard";
-
         model.addAttribute("task", task);
-        model.addAttribute("comments", commentService.listByTask(id));
-        model.addAttribute("today", LocalDate.now());
+        model.addAttribute("taskId", id);
+        addCommentPage(model, id, null);
+        addActivityPage(model, id, null);
 
         // Filter users → exclude admins and myself
         List<User> otherUsers = userService.findAll().stream()
@@ -90,13 +89,10 @@ public class UserTaskController {
     @PostMapping("/tasks/{id}/status")
     public String updateStatus(@PathVariable Long id,
                                @RequestParam TaskStatus status,
-                               @AuthenticationPrincipal UserDetails userDetails) {
-        User me = userService.findByUsername(userDetails.getUsername()).orElseThrow();
+                               @AuthenticationPrincipal WorkNestUserDetails me) {
+        if (!taskService.isAssignee(id, me.getId())) return "redirect:/user/dashboard";
 
         Task task = taskService.getById(id);
-        boolean isAssignee = task.getAssignees().stream().anyMatch(u -> u.getId().equals(me.getId()));
-        if (!isAssignee) return "redirect:/user/dashboard";
-
         //  Block if frozen
         if (task.isFrozen()) {
             return "redirect:/user/tasks/" + id + "?error=frozen";
@@ -104,7 +100,7 @@ public class UserTaskController {
 
         if (status == TaskStatus.IN_PROGRESS || status == TaskStatus.COMPLETED || status == TaskStatus.PENDING) {
             taskService.updateStatus(id, status);
-            activityService.log(task, me, "Status Update", "Marked as " + status.name());
+            activityService.log(task, userService.getById(me.getId()), "Status Update", "Marked as " + status.name());
         }
         return "redirect:/user/tasks/" + id;
     }
@@ -114,30 +110,47 @@ public class UserTaskController {
     @PostMapping("/tasks/{id}/comments")
     public String addComment(@PathVariable Long id,
                              @RequestParam String content,
-                             @AuthenticationPrincipal UserDetails userDetails) {
-        User me = userService.findByUsername(userDetails.getUsername()).orElseThrow();
+                             @AuthenticationPrincipal WorkNestUserDetails me) {
+        if (!taskService.isAssignee(id, me.getId())) return "redirect:/user/dashboard";
 
-        Task task = taskService.getById(id);
-        boolean isAssignee = task.getAssignees().stream().anyMatch(u -> u.getId().equals(me.getId()));
-        if (!isAssignee) return "redirect:/user/dashboard";
-
-        commentService.add(id, me.getId(), content);
-        activityService.log(task, me, "Comment", content);
+        TaskComment comment = commentService.add(id, me.getId(), content);
+        activityService.logComment(comment, userService.getById(me.getId()));
         return "redirect:/user/tasks/" + id;
     }
 
+    /** "Load older" fragment for the activity log of my task */
+    @GetMapping("/tasks/{id}/activities")
+    public String activityPage(@PathVariable Long id,
+                               @RequestParam String after,
+                               @AuthenticationPrincipal WorkNestUserDetails me,
+                               Model model) {
+        if (!taskService.isAssignee(id, me.getId())) throw new AccessDeniedException("Not assigned to task " + id);
+
+        model.addAttribute("taskId", id);
+        addActivityPage(model, id, after);
+        return "user-task-details :: activityPage";
+    }
+
+    /** "Load older" fragment for the comments on my task */
+    @GetMapping("/tasks/{id}/comments")
+    public String commentPage(@PathVariable Long id,
+                              @RequestParam String after,
+                              @AuthenticationPrincipal WorkNestUserDetails me,
+                              Model model) {
+        if (!taskService.isAssignee(id, me.getId())) throw new AccessDeniedException("Not assigned to task " + id);
+
+        model.addAttribute("taskId", id);
+        addCommentPage(model, id, after);
+        return "user-task-details :: commentPage";
+    }
+
     /** Re-assign task to other users (with a note) */
     @PostMapping("/tasks/{id}/assign")
     public String reassignTask(@PathVariable Long id,
                                @RequestParam List<Long> assigneeIds,
                                @RequestParam String note,
-                               @AuthenticationPrincipal UserDetails userDetails) {
-        User me = userService.findByUsername(userDetails.getUsername()).orElseThrow();
-
-        Task task = taskService.getById(id);
-        boolean isAssignee = task.getAssignees().stream()
-                .anyMatch(u -> u.getId().equals(me.getId()));
-        if (!isAssignee) return "redirect:/user/dashboard";
+                               @AuthenticationPrincipal WorkNestUserDetails me) {
+        if (!taskService.isAssignee(id, me.getId())) return "redirect:/user/dashboard";
 
         // Ensure current user stays assigned
         Set<Long> finalAssignees = new HashSet<>(assigneeIds);
@@ -152,7 +165,7 @@ public class UserTaskController {
                 .collect(Collectors.joining(", "));
 
         // Log activity
-        activityService.log(task, me,
+        activityService.log(id, userService.getById(me.getId()),
                 "Task Reassigned",
                 me.getUsername() + " reassigned task to " + usernames +
                         (note != null && !note.isBlank() ? " with note: " + note : "")
@@ -165,4 +178,25 @@ public class UserTaskController {
 
         return "redirect:/user/tasks/" + id;
     }
+
+    private void addActivityPage(Model model, Long taskId, String after) {
+        TimelinePage<TaskActivity> page = activityService.getPage(taskId, cursor(after), TIMELINE_PAGE_SIZE);
+        model.addAttribute("activities", page.items());
+        model.addAttribute("activitiesNext", page.nextCursor());
+    }
+
+    private void addCommentPage(Model model, Long taskId, String after) {
+        TimelinePage<TaskComment> page = commentService.listPage(taskId, cursor(after), TIMELINE_PAGE_SIZE);
+        model.addAttribute("comments", page.items());
+        model.addAttribute("commentsNext", page.nextCursor());
+    }
+
+    /** The "after" parameter of a timeline page; a malformed one is the client's error (400) */
+    private static TimelineCursor cursor(String after) {
+        try {
+            return TimelineCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
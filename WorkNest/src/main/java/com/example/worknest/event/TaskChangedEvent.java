@@ -0,0 +1,18 @@
+package com.example.worknest.event;
+
+/**
+ * Published by {@code TaskService} whenever a task is created or one of its tracked fields
+ * changes. Listeners should use {@code @TransactionalEventListener} so they only see
+ * committed state.
+ *
+ * @param taskId the task that changed
+ * @param before state before the change, or null when the task was just created (or restored
+ *               from the archive)
+ * @param after  state after the change, or null when the task was moved to the archive
+ */
+public record TaskChangedEvent(Long taskId, TaskSnapshot before, TaskSnapshot after) {
+
+    public boolean isCreated() {
+        return before == null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.worknest.event;
+
+import java.time.LocalDateTime;
+
+/** Published when a comment is saved on a task; listeners run after commit */
+public record TaskCommentAddedEvent(Long taskId, Long commentId, String author, String content, LocalDateTime createdAt) {
+}
@@ -0,0 +1,13 @@
+package com.example.worknest.event;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Published by {@code DueDateScheduler} when an open task comes within one of the configured
+ * reminder windows of its due date; listeners run after commit.
+ *
+ * @param daysLeft days from today until the due date (0 = due today)
+ */
+public record TaskDueSoonEvent(Long taskId, String title, LocalDate dueDate, long daysLeft, Set<Long> assigneeIds) {
+}
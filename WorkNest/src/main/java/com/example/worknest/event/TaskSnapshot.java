@@ -0,0 +1,50 @@
+package com.example.worknest.event;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.model.User;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of the task fields that in-memory views (counters, indexes) depend on.
+ * Taken inside the transaction so listeners never touch lazy entity state after commit.
+ */
+public record TaskSnapshot(String title,
+                           String description,
+                           TaskStatus status,
+                           LocalDate dueDate,
+                           boolean deleted,
+                           boolean frozen,
+                           boolean overdue,
+                           Set<Long> assigneeIds) {
+
+    public static TaskSnapshot of(Task task) {
+        Set<Long> ids = task.getAssignees().stream()
+                .map(User::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new TaskSnapshot(task.getTitle(), task.getDescription(), task.getStatus(), task.getDueDate(),
+                task.isDeleted(), task.isFrozen(), task.isOverdue(), ids);
+    }
+
+    /** The new status, with the overdue flag it implies on {@code today} */
+    public TaskSnapshot withStatus(TaskStatus newStatus, LocalDate today) {
+        return new TaskSnapshot(title, description, newStatus, dueDate, deleted, frozen,
+                newStatus.isOverdue(dueDate, today), assigneeIds);
+    }
+
+    public TaskSnapshot withFrozen(boolean newFrozen) {
+        return new TaskSnapshot(title, description, status, dueDate, deleted, newFrozen, overdue, assigneeIds);
+    }
+
+    public TaskSnapshot withOverdue(boolean newOverdue) {
+        return new TaskSnapshot(title, description, status, dueDate, deleted, frozen, newOverdue, assigneeIds);
+    }
+
+    public TaskSnapshot withAssigneeIds(Set<Long> newAssigneeIds) {
+        return new TaskSnapshot(title, description, status, dueDate, deleted, frozen, overdue,
+                Set.copyOf(newAssigneeIds));
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.worknest.event;
+
+/** Published by {@code UserService} when a user is created or deleted */
+public record UserChangedEvent(Long userId) {
+}
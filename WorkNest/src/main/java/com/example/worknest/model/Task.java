@@ -7,6 +7,7 @@ import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -14,11 +15,22 @@ import java.util.Set;
 
 //src/main/java/com/example/worknest/model/Task.java
 @Entity
-@Table(name = "tasks")
+//  The schema (these indexes included) is defined by the Flyway scripts in db/migration
+@Table(name = "tasks", indexes = {
+     @Index(name = "idx_tasks_status", columnList = "status, deleted"),
+     @Index(name = "idx_tasks_deleted_status", columnList = "deleted, status"),
+     @Index(name = "idx_tasks_due_date", columnList = "due_date, id"),
+     @Index(name = "idx_tasks_overdue_due_date", columnList = "overdue, due_date, id"),
+     @Index(name = "idx_tasks_completed_at", columnList = "completed_at, id"),
+     @Index(name = "idx_tasks_deleted_at", columnList = "deleted_at, id"),
+     @Index(name = "idx_tasks_last_activity", columnList = "deleted, last_activity_at desc, id desc")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Task {
 
- @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+ @Id
+ @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+ @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
  private Long id;
 
  @Column(nullable=false)
@@ -42,7 +54,8 @@ public class Task {
  @JoinTable(
      name = "task_assignees",
      joinColumns = @JoinColumn(name = "task_id"),
-     inverseJoinColumns = @JoinColumn(name = "user_id")
+     inverseJoinColumns = @JoinColumn(name = "user_id"),
+     indexes = @Index(name = "idx_task_assignees_user", columnList = "user_id, task_id")
  )
  @Builder.Default
  private Set<User> assignees = new HashSet<>();
@@ -58,4 +71,37 @@ public class Task {
  //  NEW field for Soft Delete
  @Builder.Default
  private boolean deleted = false;
+
+ //  When the task was completed / soft-deleted (null while it is not); TaskArchiver moves tasks
+ //  to the archive once either is more than worknest.archive.after-days old
+ private LocalDateTime completedAt;
+
+ private LocalDateTime deletedAt;
+
+ //  Not completed and past its due date; set on writes and by DueDateScheduler after midnight
+ @Builder.Default
+ private boolean overdue = false;
+
+ //  Smallest "due in N days" reminder already sent (null = none yet). Only bulk updates write it
+ //  (DueDateScheduler sets it, TaskService resets it on restore), so saving a task loaded earlier
+ //  cannot undo a reminder
+ @Column(updatable = false)
+ private Integer reminderDays;
+
+ //  Comments and activity entries so far, and when the newest was added (the task's creation
+ //  while there is none). Kept by in-place increments in the transaction that adds them (see
+ //  TaskRepository#recordComment, ActivityLogWriter) and fixed up by TaskCounterRepair, so the
+ //  entity only ever reads them
+ @Column(insertable = false, updatable = false)
+ private int commentCount;
+
+ @Column(insertable = false, updatable = false)
+ private int activityCount;
+
+ @Column(insertable = false, updatable = false)
+ private LocalDateTime lastActivityAt;
+
+ //  Bumped on every change (bulk updates included); optimistic lock and API ETag
+ @Version
+ private Long version;
 }
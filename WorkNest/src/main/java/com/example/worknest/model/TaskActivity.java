@@ -4,12 +4,18 @@ package com.example.worknest.model;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_task_activity_task_created", columnList = "task_id, created_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,13 +23,14 @@ import lombok.*;
 @Builder
 public class TaskActivity {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_activity_seq")
+    @SequenceGenerator(name = "task_activity_seq", sequenceName = "task_activity_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Task task;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User performedBy;
 
     private String action;
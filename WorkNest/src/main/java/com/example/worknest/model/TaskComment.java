@@ -6,11 +6,14 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "task_comments")
+@Table(name = "task_comments",
+       indexes = @Index(name = "idx_task_comments_task_created", columnList = "task_id, created_at, id"))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class TaskComment {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_comments_seq")
+    @SequenceGenerator(name = "task_comments_seq", sequenceName = "task_comments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable=false, length=2000)
@@ -20,11 +23,11 @@ public class TaskComment {
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now(); // ✅ keep default when using builder
 
-    @ManyToOne(optional=false)
+    @ManyToOne(fetch = FetchType.LAZY, optional=false)
     @JoinColumn(name = "task_id")
     private Task task;
 
-    @ManyToOne(optional=false)
+    @ManyToOne(fetch = FetchType.LAZY, optional=false)
     @JoinColumn(name = "author_id")
     private User author;
 
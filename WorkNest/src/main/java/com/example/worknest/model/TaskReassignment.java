@@ -3,16 +3,21 @@ package com.example.worknest.model;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = @Index(name = "idx_task_reassignment_task", columnList = "task_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,16 +25,17 @@ import lombok.NoArgsConstructor;
 public class TaskReassignment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_reassignment_seq")
+    @SequenceGenerator(name = "task_reassignment_seq", sequenceName = "task_reassignment_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Task task;   
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User fromUser;  
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User toUser;    
 
     private String comment; 
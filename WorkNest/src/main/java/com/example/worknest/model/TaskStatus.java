@@ -1,5 +1,12 @@
 package com.example.worknest.model;
 
+import java.time.LocalDate;
+
 public enum TaskStatus {
-    PENDING, IN_PROGRESS, COMPLETED
+    PENDING, IN_PROGRESS, COMPLETED;
+
+    /** Whether a task in this status with {@code dueDate} counts as overdue on {@code today} */
+    public boolean isOverdue(LocalDate dueDate, LocalDate today) {
+        return this != COMPLETED && dueDate != null && dueDate.isBefore(today);
+    }
 }
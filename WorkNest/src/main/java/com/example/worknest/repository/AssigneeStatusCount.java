@@ -0,0 +1,7 @@
+package com.example.worknest.repository;
+
+/** Row of the per-assignee dashboard counter query */
+public interface AssigneeStatusCount extends TaskStatusCount {
+
+    Long getUserId();
+}
@@ -2,10 +2,33 @@
 package com.example.worknest.repository;
 
 import com.example.worknest.model.TaskActivity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TaskActivityRepository extends JpaRepository<TaskActivity, Long> {
-    List<TaskActivity> findByTask_IdOrderByCreatedAtDesc(Long taskId);
+    // Written out: the derived query outer-joined tasks and filtered on the join, which scans task_activity
+    @Query("select a from TaskActivity a left join fetch a.performedBy where a.task.id = :taskId " +
+           "order by a.createdAt desc, a.id desc")
+    List<TaskActivity> findByTask_IdOrderByCreatedAtDesc(@Param("taskId") Long taskId);
+
+    // Timeline pages, newest first; both walk idx_task_activity_task_created
+    @Query("select a from TaskActivity a left join fetch a.performedBy where a.task.id = :taskId " +
+           "order by a.createdAt desc, a.id desc")
+    List<TaskActivity> findNewest(@Param("taskId") Long taskId, Limit limit);
+
+    @Query("select a from TaskActivity a left join fetch a.performedBy where a.task.id = :taskId " +
+           "and (a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id)) " +
+           "order by a.createdAt desc, a.id desc")
+    List<TaskActivity> findOlder(@Param("taskId") Long taskId,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Limit limit);
+
+    @Query("select count(a) as count, max(a.id) as lastId from TaskActivity a where a.task.id = :taskId")
+    TimelineStamp stampOf(@Param("taskId") Long taskId);
 }
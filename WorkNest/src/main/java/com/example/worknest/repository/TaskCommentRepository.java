@@ -1,10 +1,32 @@
 package com.example.worknest.repository;
 
 import com.example.worknest.model.TaskComment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TaskCommentRepository extends JpaRepository<TaskComment, Long> {
+    @EntityGraph(attributePaths = "author")
     List<TaskComment> findByTaskIdOrderByCreatedAtAsc(Long taskId);
+
+    // Timeline pages, newest first; both walk idx_task_comments_task_created
+    @Query("select c from TaskComment c join fetch c.author where c.task.id = :taskId " +
+           "order by c.createdAt desc, c.id desc")
+    List<TaskComment> findNewest(@Param("taskId") Long taskId, Limit limit);
+
+    @Query("select c from TaskComment c join fetch c.author where c.task.id = :taskId " +
+           "and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id)) " +
+           "order by c.createdAt desc, c.id desc")
+    List<TaskComment> findOlder(@Param("taskId") Long taskId,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Limit limit);
+
+    @Query("select count(c) as count, max(c.id) as lastId from TaskComment c where c.task.id = :taskId")
+    TimelineStamp stampOf(@Param("taskId") Long taskId);
 }
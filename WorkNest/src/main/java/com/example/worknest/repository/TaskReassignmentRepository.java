@@ -2,10 +2,12 @@ package com.example.worknest.repository;
 
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.example.worknest.model.TaskReassignment;
 
 public interface TaskReassignmentRepository extends JpaRepository<TaskReassignment, Long> {
+    @EntityGraph(attributePaths = {"fromUser", "toUser"})
     List<TaskReassignment> findByTask_Id(Long taskId);
 }
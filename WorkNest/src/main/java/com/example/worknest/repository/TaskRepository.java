@@ -3,23 +3,162 @@ package com.example.worknest.repository;
 
 import com.example.worknest.model.Task;
 import com.example.worknest.model.TaskStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
 
-    List<Task> findByAssignees_Id(Long userId);
+    // Inner join, so the lookup starts from idx_task_assignees_user instead of scanning tasks
+    @Query("select t from Task t join t.assignees u where u.id = :userId")
+    List<Task> findByAssignees_Id(@Param("userId") Long userId);
 
+    boolean existsByIdAndAssignees_Id(Long id, Long userId);
+
+    // Reads whose callers show or snapshot the assignees fetch them in the same query
+    @EntityGraph(attributePaths = "assignees")
+    Optional<Task> findWithAssigneesById(Long id);
+
+    @EntityGraph(attributePaths = "assignees")
     List<Task> findByStatus(TaskStatus status);
 
-    List<Task> findByDueDateBeforeAndStatusNot(LocalDate refDate, TaskStatus status);
+    @EntityGraph(attributePaths = "assignees")
+    List<Task> findByOverdueTrueAndDeletedFalse();
 
     long countByStatus(TaskStatus status);
 
-    long countByDueDateBeforeAndStatusNot(LocalDate refDate, TaskStatus status);
+    long countByOverdueTrueAndDeletedFalse();
 
     // 👇 Custom query to exclude deleted tasks
+    @EntityGraph(attributePaths = "assignees")
     List<Task> findByDeletedFalse();
+
+    // Conditional writes (If-Match): the task locked, so its version cannot change until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> lockById(@Param("id") Long id);
+
+    // ETag checks: the version alone, without loading the task
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Dashboard counters: one row per status, active tasks only
+    @Query("select t.status as status, count(t) as total, " +
+           "sum(case when t.overdue = true then 1 else 0 end) as delayed " +
+           "from Task t where t.deleted = false group by t.status")
+    List<TaskStatusCount> countActiveByStatus();
+
+    // Same counters per assignee
+    @Query("select u.id as userId, t.status as status, count(t) as total, " +
+           "sum(case when t.overdue = true then 1 else 0 end) as delayed " +
+           "from Task t join t.assignees u where t.deleted = false group by u.id, t.status")
+    List<AssigneeStatusCount> countActiveByAssigneeAndStatus();
+
+    // Due-date transitions, in (dueDate, id) order over idx_tasks_due_date: open tasks not yet
+    // flagged whose due date is in [from, until), or anywhere before until (catch-up at startup)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.overdue = false and t.status <> com.example.worknest.model.TaskStatus.COMPLETED " +
+           "and t.dueDate >= :from and t.dueDate < :until order by t.dueDate, t.id")
+    List<Task> lockDueBetween(@Param("from") LocalDate from, @Param("until") LocalDate until, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.overdue = false and t.status <> com.example.worknest.model.TaskStatus.COMPLETED " +
+           "and t.dueDate < :until order by t.dueDate, t.id")
+    List<Task> lockDueBefore(@Param("until") LocalDate until, Limit limit);
+
+    // Active open tasks due in [today, until] that have not had a reminder for this many days yet
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.deleted = false and t.overdue = false " +
+           "and t.status <> com.example.worknest.model.TaskStatus.COMPLETED " +
+           "and t.dueDate >= :today and t.dueDate <= :until and (t.reminderDays is null or t.reminderDays > :days) " +
+           "order by t.dueDate, t.id")
+    List<Task> lockDueForReminder(@Param("today") LocalDate today, @Param("until") LocalDate until,
+                                  @Param("days") int days, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.overdue = true, t.version = t.version + 1 where t.id in :ids and t.overdue = false")
+    int markOverdue(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.reminderDays = :days, t.version = t.version + 1 where t.id in :ids")
+    int markReminded(@Param("ids") Collection<Long> ids, @Param("days") int days);
+
+    // reminderDays is not written by entity updates, so a restored task's reminders are reset here;
+    // part of a change that saves the task, which bumps the version
+    @Modifying
+    @Query("update Task t set t.reminderDays = null where t.id = :id")
+    int clearReminders(@Param("id") Long id);
+
+    // Bulk operations: lock the target rows first so the "before" state cannot change under the UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id in :ids and t.deleted = false")
+    List<Task> lockActiveByIds(@Param("ids") Collection<Long> ids);
+
+    // a batch of the tasks matching a bulk filter, in id order after afterId
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.deleted = false and t.id > :afterId " +
+           "and (:status is null or t.status = :status) and (:dueBefore is null or t.dueDate < :dueBefore) " +
+           "order by t.id")
+    List<Task> lockActiveMatching(@Param("status") TaskStatus status, @Param("dueBefore") LocalDate dueBefore,
+                                  @Param("afterId") long afterId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, " +
+           "t.overdue = (case when :status <> com.example.worknest.model.TaskStatus.COMPLETED and t.dueDate < :today then true else false end), " +
+           "t.completedAt = (case when :status = com.example.worknest.model.TaskStatus.COMPLETED then local datetime end) " +
+           "where t.id in :ids and t.frozen = false and t.status <> :status")
+    int bulkUpdateStatus(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status,
+                         @Param("today") LocalDate today);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.frozen = :frozen, t.version = t.version + 1 where t.id in :ids and t.frozen <> :frozen")
+    int bulkSetFrozen(@Param("ids") Collection<Long> ids, @Param("frozen") boolean frozen);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from task_assignees where task_id in (:ids)", nativeQuery = true)
+    int bulkClearAssignees(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "insert into task_assignees (task_id, user_id) " +
+                   "select t.id, u.id from tasks t cross join users u where t.id in (:ids) and u.id in (:userIds)",
+           nativeQuery = true)
+    int bulkAddAssignees(@Param("ids") Collection<Long> ids, @Param("userIds") Collection<Long> userIds);
+
+    // The native assignee statements bypass Hibernate, so the version is bumped explicitly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.version = t.version + 1 where t.id in :ids")
+    int bumpVersions(@Param("ids") Collection<Long> ids);
+
+    // Counters of a new comment, bumped in place (never through the comments collection); no
+    // version bump, so the task's ETag stays valid
+    @Modifying
+    @Query("update Task t set t.commentCount = t.commentCount + 1, " +
+           "t.lastActivityAt = (case when t.lastActivityAt < :at then :at else t.lastActivityAt end) where t.id = :id")
+    int recordComment(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    // Archiving: tasks completed / soft-deleted before the cutoff, oldest first over
+    // idx_tasks_completed_at / idx_tasks_deleted_at (the timestamps are null while a task is not)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.completedAt < :cutoff order by t.completedAt, t.id")
+    List<Task> lockCompletedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.deletedAt < :cutoff order by t.deletedAt, t.id")
+    List<Task> lockDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Initializes the assignees of a whole page of tasks in one round trip
+    @Query("select t from Task t left join fetch t.assignees where t.id in :ids")
+    List<Task> fetchAssignees(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,67 @@
+package com.example.worknest.repository;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.model.User;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Criteria building blocks for the paginated task list. Each method returns null when the
+ * filter is not set, so they can be chained with {@link Specification#and}.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> notDeleted() {
+        return (root, query, cb) -> cb.isFalse(root.get("deleted"));
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        if (status == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> overdue() {
+        return (root, query, cb) -> cb.isTrue(root.get("overdue"));
+    }
+
+    public static Specification<Task> assignedTo(Long userId) {
+        if (userId == null) return null;
+        return (root, query, cb) -> {
+            Join<Task, User> assignee = root.join("assignees");
+            return cb.equal(assignee.get("id"), userId);
+        };
+    }
+
+    public static Specification<Task> titleContains(String text) {
+        if (text == null || text.isBlank()) return null;
+        String pattern = "%" + text.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, '\\');
+    }
+
+    /** Rows strictly after the keyset position (dueDate, id) in the given direction */
+    public static Specification<Task> after(LocalDate dueDate, Long id, boolean descending) {
+        if (dueDate == null || id == null) return null;
+        return (root, query, cb) -> descending
+                ? cb.or(cb.lessThan(root.get("dueDate"), dueDate),
+                        cb.and(cb.equal(root.get("dueDate"), dueDate), cb.lessThan(root.get("id"), id)))
+                : cb.or(cb.greaterThan(root.get("dueDate"), dueDate),
+                        cb.and(cb.equal(root.get("dueDate"), dueDate), cb.greaterThan(root.get("id"), id)));
+    }
+
+    /** Rows strictly after the keyset position (lastActivityAt, id), newest activity first */
+    public static Specification<Task> afterActivity(LocalDateTime lastActivityAt, Long id) {
+        if (lastActivityAt == null || id == null) return null;
+        return (root, query, cb) -> cb.or(cb.lessThan(root.get("lastActivityAt"), lastActivityAt),
+                cb.and(cb.equal(root.get("lastActivityAt"), lastActivityAt), cb.lessThan(root.get("id"), id)));
+    }
+}
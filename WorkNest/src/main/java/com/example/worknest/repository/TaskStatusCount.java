@@ -0,0 +1,13 @@
+package com.example.worknest.repository;
+
+import com.example.worknest.model.TaskStatus;
+
+/** Row of the grouped dashboard counter query */
+public interface TaskStatusCount {
+
+    TaskStatus getStatus();
+
+    long getTotal();
+
+    long getDelayed();
+}
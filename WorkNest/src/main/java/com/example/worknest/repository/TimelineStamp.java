@@ -0,0 +1,9 @@
+package com.example.worknest.repository;
+
+/** Size and newest id of a task's comments or activity; changes whenever an entry is added */
+public interface TimelineStamp {
+
+    long getCount();
+
+    Long getLastId();
+}
@@ -0,0 +1,9 @@
+package com.example.worknest.repository;
+
+/** Lightweight (id, username) projection of a user */
+public interface UserIdentity {
+
+    Long getId();
+
+    String getUsername();
+}
@@ -2,10 +2,22 @@ package com.example.worknest.repository;
 
 import com.example.worknest.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByUsernameAndPassword(String username, String password);
+
+    // id/username pairs only, for resolving assignees by name without loading full users
+    @Query("select u.id as id, u.username as username from User u where u.username in :usernames")
+    List<UserIdentity> findIdentities(Collection<String> usernames);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(String username, String password);
 }
@@ -0,0 +1,5 @@
+package com.example.worknest.search;
+
+/** One ranked match */
+public record SearchHit(long taskId, float score) {
+}
@@ -0,0 +1,9 @@
+package com.example.worknest.search;
+
+import java.util.List;
+
+/** One page of ranked hits plus the total number of visible matches */
+public record SearchResults(List<SearchHit> hits, int total) {
+
+    public static final SearchResults EMPTY = new SearchResults(List.of(), 0);
+}
@@ -0,0 +1,343 @@
+package com.example.worknest.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Inverted index over task titles, descriptions and comments, one document per task.
+ *
+ * <p>Each term maps to a posting list of (document, weighted term frequency) kept as two sorted
+ * int arrays. All text of a task, comments included, is merged into the task's single posting,
+ * so a term costs 8 bytes per task however often it is repeated. Title terms count
+ * {@value #TITLE_WEIGHT} times. Queries match tasks containing every query term and rank them
+ * with BM25.
+ *
+ * <p>Removed tasks (archived) are dropped from the lookups at once and from the posting lists
+ * in one compacting pass once they make up a quarter of the documents, which also renumbers the
+ * remaining documents densely.
+ *
+ * <p>Thread-safe: searches share a read lock, updates take the write lock. Adding a task twice
+ * is ignored; comments are not tracked individually, so the caller must not add one twice.
+ */
+public class TaskSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+
+    // BM25 parameters (the usual defaults)
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // all guarded by lock
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<Long, Integer> docByTask = new HashMap<>();
+    private final BitSet deleted = new BitSet();      // soft-deleted or removed: never a hit
+    private final BitSet removed = new BitSet();      // still in posting lists until compacted
+    private long[] taskByDoc = new long[1024];
+    private int[] docLength = new int[1024];
+    private int docCount;                             // documents numbered so far, removed ones included
+    private int removedCount;
+    private long totalLength;
+
+    /** Index a new task. Tasks already in the index are left unchanged */
+    public void addTask(long taskId, String title, String description, boolean isDeleted) {
+        lock.writeLock().lock();
+        try {
+            if (docByTask.containsKey(taskId)) return;
+
+            int doc = newDoc(taskId);
+            addText(doc, title, TITLE_WEIGHT);
+            addText(doc, description, 1);
+            deleted.set(doc, isDeleted);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Add a comment's text to its task. Unknown tasks are ignored */
+    public void addComment(long taskId, String content) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByTask.get(taskId);
+            if (doc != null) addText(doc, content, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Take a task out of the index (archived). Adding it again starts from an empty document */
+    public void removeTask(long taskId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByTask.remove(taskId);
+            if (doc == null) return;
+
+            deleted.set(doc);
+            removed.set(doc);
+            removedCount++;
+            totalLength -= docLength[doc];
+            docLength[doc] = 0;
+            if (removedCount > docCount >> 2) compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Hide or show a task (soft delete / restore) */
+    public void setDeleted(long taskId, boolean isDeleted) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByTask.get(taskId);
+            if (doc != null) deleted.set(doc, isDeleted);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rank the tasks matching every term of {@code query}.
+     * @param visible which task ids the caller may see
+     * @param offset number of top hits to skip; past the last hit the page is empty
+     * @param limit maximum hits to return
+     */
+    public SearchResults search(String query, LongPredicate visible, long offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        Tokenizer.tokenize(query, queryTerms::add);
+        if (queryTerms.isEmpty() || limit < 1 || offset < 0) return SearchResults.EMPTY;
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Postings p = terms.get(term);
+                if (p == null) return SearchResults.EMPTY; // every term must match
+                lists.add(p);
+            }
+            lists.sort(Comparator.comparingInt(p -> p.size)); // drive from the rarest term
+
+            // removed documents still in the lists skew df a little until the next compaction
+            int live = docCount - removedCount;
+            float[] idf = new float[lists.size()];
+            for (int t = 0; t < lists.size(); t++) {
+                int df = lists.get(t).size;
+                idf[t] = (float) Math.log(1 + Math.max(0, live - df + 0.5) / (df + 0.5));
+            }
+            float avgLength = live == 0 ? 1 : (float) totalLength / live;
+
+            Postings driver = lists.get(0);
+            // no more hits than the rarest term has documents, so a deep page costs no more
+            // memory than the matches themselves
+            long keep = offset + limit;
+            PriorityQueue<SearchHit> top = new PriorityQueue<>((int) Math.min(keep, driver.size) + 1, RANKING.reversed());
+            int total = 0;
+
+            int[] cursors = new int[lists.size()];
+            candidates:
+            for (int i = 0; i < driver.size; i++) {
+                int doc = driver.docs[i];
+                if (deleted.get(doc)) continue;
+
+                float norm = K1 * (1 - B + B * docLength[doc] / avgLength);
+                float score = idf[0] * bm25(driver.freqs[i], norm);
+                for (int t = 1; t < lists.size(); t++) {
+                    Postings p = lists.get(t);
+                    // docs arrive in ascending order, so each list is only searched forward
+                    int pos = Arrays.binarySearch(p.docs, cursors[t], p.size, doc);
+                    if (pos < 0) {
+                        cursors[t] = -pos - 1;
+                        if (cursors[t] >= p.size) break candidates;
+                        continue candidates;
+                    }
+                    cursors[t] = pos + 1;
+                    score += idf[t] * bm25(p.freqs[pos], norm);
+                }
+
+                long taskId = taskByDoc[doc];
+                if (!visible.test(taskId)) continue;
+
+                total++;
+                if (top.size() < keep) {
+                    top.add(new SearchHit(taskId, score));
+                } else if (RANKING.compare(new SearchHit(taskId, score), top.peek()) < 0) {
+                    top.poll();
+                    top.add(new SearchHit(taskId, score));
+                }
+            }
+
+            List<SearchHit> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            List<SearchHit> page = offset >= ranked.size() ? List.of() : ranked.subList((int) offset, ranked.size());
+            return new SearchResults(List.copyOf(page), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of tasks indexed (soft-deleted ones included) */
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return docCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of distinct terms */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Approximate heap used by the index, in bytes */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) taskByDoc.length * 8 + (long) docLength.length * 4
+                    + docByTask.size() * 64L                // HashMap node + boxed key and value
+                    + deleted.size() / 8 + removed.size() / 8;
+            for (Map.Entry<String, Postings> e : terms.entrySet()) {
+                bytes += 48 + 40 + e.getKey().length()     // map node, String header, Latin-1 chars
+                        + 32 + (long) e.getValue().docs.length * 8;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // highest score first, newer task first on ties
+    private static final Comparator<SearchHit> RANKING =
+            Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(Comparator.comparingLong(SearchHit::taskId).reversed());
+
+    private static float bm25(int freq, float norm) {
+        return freq * (K1 + 1) / (freq + norm);
+    }
+
+    private int newDoc(long taskId) {
+        int doc = docCount++;
+        if (doc == taskByDoc.length) {
+            taskByDoc = Arrays.copyOf(taskByDoc, doc * 2);
+            docLength = Arrays.copyOf(docLength, doc * 2);
+        }
+        taskByDoc[doc] = taskId;
+        docByTask.put(taskId, doc);
+        return doc;
+    }
+
+    /** Drop the removed documents from every posting list and renumber the rest in order */
+    private void compact() {
+        int[] newDoc = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            newDoc[doc] = removed.get(doc) ? -1 : live++;
+        }
+
+        long[] tasks = new long[Math.max(1024, live)];
+        int[] lengths = new int[tasks.length];
+        BitSet stillDeleted = new BitSet();
+        for (int doc = 0; doc < docCount; doc++) {
+            int to = newDoc[doc];
+            if (to < 0) continue;
+            tasks[to] = taskByDoc[doc];
+            lengths[to] = docLength[doc];
+            if (deleted.get(doc)) stillDeleted.set(to);
+            docByTask.put(taskByDoc[doc], to);
+        }
+        // the mapping keeps document order, so every list stays sorted
+        terms.values().removeIf(p -> p.renumber(newDoc) == 0);
+
+        taskByDoc = tasks;
+        docLength = lengths;
+        deleted.clear();
+        deleted.or(stillDeleted);
+        removed.clear();
+        docCount = live;
+        removedCount = 0;
+    }
+
+    private void addText(int doc, String text, int weight) {
+        if (text == null || text.isBlank()) return;
+
+        Map<String, int[]> counts = new HashMap<>();
+        Tokenizer.tokenize(text, term -> counts.computeIfAbsent(term, t -> new int[1])[0] += weight);
+
+        int length = 0;
+        for (Map.Entry<String, int[]> e : counts.entrySet()) {
+            terms.computeIfAbsent(e.getKey(), t -> new Postings()).add(doc, e.getValue()[0]);
+            length += e.getValue()[0];
+        }
+        docLength[doc] += length;
+        totalLength += length;
+    }
+
+    /** Sorted (doc, freq) pairs for one term */
+    private static final class Postings {
+        int[] docs = new int[2];
+        int[] freqs = new int[2];
+        int size;
+
+        void add(int doc, int freq) {
+            int pos;
+            if (size == 0 || docs[size - 1] < doc) {
+                pos = size;                    // the common case: a new or the newest task
+            } else if (docs[size - 1] == doc) {
+                freqs[size - 1] += freq;
+                return;
+            } else {
+                pos = Arrays.binarySearch(docs, 0, size, doc);
+                if (pos >= 0) {
+                    freqs[pos] += freq;
+                    return;
+                }
+                pos = -pos - 1;
+            }
+
+            if (size == docs.length) {
+                int capacity = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+            }
+            System.arraycopy(docs, pos, docs, pos + 1, size - pos);
+            System.arraycopy(freqs, pos, freqs, pos + 1, size - pos);
+            docs[pos] = doc;
+            freqs[pos] = freq;
+            size++;
+        }
+
+        /** Apply a document renumbering; -1 drops the document. Returns the new size */
+        int renumber(int[] newDoc) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = newDoc[docs[i]];
+                if (doc < 0) continue;
+                docs[kept] = doc;
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+            size = kept;
+            if (docs.length > 2 * size + 2) {
+                docs = Arrays.copyOf(docs, Math.max(2, size));
+                freqs = Arrays.copyOf(freqs, Math.max(2, size));
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.worknest.search;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Splits text into lower-case search terms: runs of letters and digits, at least two characters,
+ * minus a short list of English stop words. No stemming, so "task" and "tasks" are distinct terms.
+ */
+public final class Tokenizer {
+
+    static final int MAX_TERM_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "so", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with");
+
+    private Tokenizer() {
+    }
+
+    /** Feed every term of {@code text} to {@code sink}, in order, duplicates included */
+    public static void tokenize(String text, Consumer<String> sink) {
+        if (text == null) return;
+
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(text.charAt(i))) i++;
+
+            int len = i - start;
+            if (len < 2 || len > MAX_TERM_LENGTH) continue;
+            String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+            if (!STOP_WORDS.contains(term)) sink.accept(term);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.worknest.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a CPU-heavy {@link PasswordEncoder} (BCrypt) on a small dedicated pool so a burst of
+ * logins or sign-ups uses at most {@code threads} cores and leaves the rest to the pages.
+ * Callers wait in a bounded queue; when it is full, or the wait exceeds {@code timeout}, the call
+ * fails fast with {@link PasswordHashingBusyException} and queued work of callers that gave up
+ * is skipped.
+ *
+ * <p>Metrics: {@code worknest.password.hashing} (time on the pool, by operation),
+ * {@code worknest.password.queue} and {@code worknest.password.rejected} (by reason).
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout,
+                                  MeterRegistry meters) {
+        this.delegate = delegate;
+        this.timeoutNanos = timeout.toNanos();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hasher-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("worknest.password.hashing").tag("operation", "encode")
+                .description("Time spent hashing or verifying passwords").register(meters);
+        this.matchTimer = Timer.builder("worknest.password.hashing").tag("operation", "matches")
+                .description("Time spent hashing or verifying passwords").register(meters);
+        this.queueFull = Counter.builder("worknest.password.rejected").tag("reason", "queue-full").register(meters);
+        this.timedOut = Counter.builder("worknest.password.rejected").tag("reason", "timeout").register(meters);
+        Gauge.builder("worknest.password.queue", executor, e -> e.getQueue().size())
+                .description("Password operations waiting for a hashing thread")
+                .register(meters);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(matchTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /** Cheap (parses the stored hash), so it runs on the caller's thread */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /** Called by Spring on shutdown */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T call(Timer timer, Callable<T> work) {
+        Future<T> result;
+        try {
+            result = executor.submit(timer.wrap(work));
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            throw new PasswordHashingBusyException("Too many sign-ins in progress, please try again");
+        }
+
+        try {
+            return result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            timedOut.increment();
+            throw new PasswordHashingBusyException("Too many sign-ins in progress, please try again");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
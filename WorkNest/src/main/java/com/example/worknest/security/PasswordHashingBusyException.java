@@ -0,0 +1,18 @@
+package com.example.worknest.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * The password hashing pool is saturated: its queue is full or the caller waited longer than
+ * the configured timeout. A login that hits this fails like a wrong password would (back to the
+ * login page with an error) instead of tying up a request thread.
+ */
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    /** What forms that set a password show when this happens */
+    public static final String FORM_ERROR = "The server is busy, please try again in a moment.";
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,28 @@
 package com.example.worknest.security;
 
 import com.example.worknest.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @RequiredArgsConstructor
@@ -16,21 +30,42 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
 
+    /** BCrypt at the configured cost, run on a bounded pool so login bursts cannot take every core */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${worknest.password.bcrypt-strength:10}") int strength,
+                                           @Value("${worknest.password.threads:0}") int threads,
+                                           @Value("${worknest.password.queue-capacity:200}") int queueCapacity,
+                                           @Value("${worknest.password.timeout:PT10S}") Duration timeout,
+                                           MeterRegistry meters) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(strength), poolSize, queueCapacity, timeout, meters);
+    }
+
+    /**
+     * New hashes are stored as "{bcrypt}..." at {@code strength}. Older hashes without an id still
+     * verify. Those, and "{bcrypt}" hashes at a lower cost, report upgradeEncoding, which makes the
+     * provider rehash them on the next successful login; a hash at a higher cost is kept as it is.
+     */
+    public static PasswordEncoder delegatingPasswordEncoder(int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(customUserDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        //  rehash to the current cost on successful login
+        provider.setUserDetailsPasswordService(customUserDetailsService);
         return provider;
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   ObjectProvider<FindByIndexNameSessionRepository<?>> sharedSessions) throws Exception {
         http
             .csrf(csrf -> csrf
                 .ignoringRequestMatchers("/h2-console/**") //  allow H2 console to work
@@ -39,10 +74,19 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/login", "/register", "/css/**", "/js/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll() //  allow H2 console
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN") //  metrics, prometheus
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 .requestMatchers("/user/**").hasRole("USER")
                 .anyRequest().authenticated()
             )
+            //  API clients (/api/v1/**) and metric scrapers (/actuator/**) authenticate with HTTP Basic
+            //  and get 401 instead of the login page
+            .httpBasic(Customizer.withDefaults())
+            .exceptionHandling(ex -> ex
+                .defaultAuthenticationEntryPointFor(apiEntryPoint(), PathPatternRequestMatcher.withDefaults().matcher("/api/**"))
+                .defaultAuthenticationEntryPointFor(apiEntryPoint(), PathPatternRequestMatcher.withDefaults().matcher("/actuator/**"))
+            )
             .formLogin(form -> form
                 .loginPage("/login")
                 .defaultSuccessUrl("/postLogin", true)
@@ -57,10 +101,22 @@ public class SecurityConfig {
             .headers(headers -> headers
                 .frameOptions(frame -> frame.sameOrigin()) // allow H2 console frames
             )
-            .sessionManagement(session -> session
-                .maximumSessions(2) // allow multiple sessions
-            );
+            .sessionManagement(session -> {
+                var concurrency = session.maximumSessions(2); // allow multiple sessions
+                //  with database sessions, count a user's sessions across all instances
+                sharedSessions.ifAvailable(sessions -> concurrency.sessionRegistry(sessionRegistry(sessions)));
+            });
 
         return http.build();
     }
+
+    private static <S extends Session> SessionRegistry sessionRegistry(FindByIndexNameSessionRepository<S> sessions) {
+        return new SpringSessionBackedSessionRegistry<>(sessions);
+    }
+
+    private static BasicAuthenticationEntryPoint apiEntryPoint() {
+        BasicAuthenticationEntryPoint entryPoint = new BasicAuthenticationEntryPoint();
+        entryPoint.setRealmName("WorkNest");
+        return entryPoint;
+    }
 }
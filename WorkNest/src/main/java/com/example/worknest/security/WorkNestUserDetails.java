@@ -0,0 +1,51 @@
+package com.example.worknest.security;
+
+import com.example.worknest.model.User;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated principal for WorkNest. Unlike Spring's default {@code User} it keeps the
+ * database id and role, so controllers can act on the current user without looking it up.
+ */
+@Getter
+public class WorkNestUserDetails implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String username;
+    private String password;
+    private final String role; // "ADMIN" / "USER"
+    private final List<GrantedAuthority> authorities;
+
+    public WorkNestUserDetails(Long id, String username, String password, String role) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public static WorkNestUserDetails from(User user) {
+        return new WorkNestUserDetails(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equalsIgnoreCase(role);
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
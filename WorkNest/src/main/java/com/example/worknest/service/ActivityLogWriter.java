@@ -0,0 +1,281 @@
+package com.example.worknest.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes {@code task_activity} rows with JDBC batch inserts.
+ *
+ * <p>In {@code async} mode (the default) entries go into a bounded buffer and a single writer
+ * thread flushes them when {@code batch-size} entries are waiting or {@code flush-interval} has
+ * passed since the first one arrived. When the buffer is full the caller writes its own entry
+ * instead of blocking. On shutdown the buffer is drained after the web server has stopped
+ * accepting requests.
+ *
+ * <p>In {@code sync} mode every entry is inserted immediately on the caller's thread (and inside
+ * its transaction, if any), which gives tests read-your-writes behaviour.
+ *
+ * <p>Either way, the statement that inserts a batch is followed, in the same transaction, by one
+ * in-place UPDATE per task for its {@code activity_count} and {@code last_activity_at}.
+ */
+@Slf4j
+@Component
+public class ActivityLogWriter implements SmartLifecycle {
+
+    static final String SEQUENCE = "task_activity_seq";
+    static final int ALLOCATION_SIZE = 50; // must match TaskActivity's @SequenceGenerator
+
+    private static final String INSERT_SQL =
+            "insert into task_activity (id, task_id, performed_by_id, action, details, created_at) " +
+            "values (?, ?, ?, ?, ?, ?)";
+
+    private static final String COUNT_SQL =
+            "update tasks set activity_count = activity_count + ?, " +
+            "last_activity_at = greatest(last_activity_at, ?) where id = ?";
+
+    private final JdbcTemplate jdbc;
+    private final DataVersion dataVersion;
+    private final TransactionTemplate callerTx;   // sync mode: join the caller's transaction
+    private final TransactionTemplate writerTx;   // async mode: always a transaction of our own
+    private final boolean async;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final BlockingQueue<PendingActivity> buffer;
+
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter overflowed;
+    private final Counter dropped;
+
+    // id block handed out by the sequence, guarded by idLock (a lock rather than "synchronized"
+    // because the refill does JDBC, which would pin a virtual thread's carrier)
+    private final ReentrantLock idLock = new ReentrantLock();
+    private long nextId;
+    private long lastId = -1;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ActivityLogWriter(JdbcTemplate jdbc,
+                             DataVersion dataVersion,
+                             PlatformTransactionManager txManager,
+                             MeterRegistry meters,
+                             @Value("${worknest.activity.write-mode:async}") String writeMode,
+                             @Value("${worknest.activity.buffer-capacity:10000}") int bufferCapacity,
+                             @Value("${worknest.activity.batch-size:200}") int batchSize,
+                             @Value("${worknest.activity.flush-interval:PT0.5S}") Duration flushInterval) {
+        this.jdbc = jdbc;
+        this.dataVersion = dataVersion;
+        this.callerTx = new TransactionTemplate(txManager);
+        this.writerTx = new TransactionTemplate(txManager);
+        this.writerTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.async = "async".equalsIgnoreCase(writeMode);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+
+        Gauge.builder("worknest.activity.buffer.depth", buffer, BlockingQueue::size)
+                .description("Activity entries waiting to be written")
+                .register(meters);
+        this.flushTimer = Timer.builder("worknest.activity.flush")
+                .description("Time to write one batch of activity entries")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meters);
+        this.written = meters.counter("worknest.activity.written");
+        this.overflowed = meters.counter("worknest.activity.overflow");
+        this.dropped = meters.counter("worknest.activity.dropped");
+    }
+
+    /** Queue an entry (async mode) or write it right away (sync mode) */
+    public void submit(PendingActivity entry) {
+        if (!async) {
+            callerTx.executeWithoutResult(status -> insert(List.of(entry)));
+            written.increment();
+            return;
+        }
+        if (!running || !buffer.offer(entry)) {
+            // not running yet/any more, or buffer full: back-pressure by writing on the caller's thread
+            overflowed.increment();
+            write(List.of(entry));
+        }
+    }
+
+    /** Like {@link #submit} for many entries; in sync mode they go out as one JDBC batch */
+    public void submitAll(List<PendingActivity> entries) {
+        if (entries.isEmpty()) return;
+        if (!async) {
+            callerTx.executeWithoutResult(status -> insert(entries));
+            written.increment(entries.size());
+            return;
+        }
+        entries.forEach(this::submit);
+    }
+
+    /** Write everything currently buffered on the calling thread */
+    public void flush() {
+        List<PendingActivity> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    private void runLoop() {
+        List<PendingActivity> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingActivity first = buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    if (buffer.drainTo(batch, batchSize - batch.size()) > 0) continue;
+
+                    long remaining = deadline - System.nanoTime();
+                    PendingActivity next = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Activity writer failed to flush {} entries", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingActivity> batch) {
+        if (batch.isEmpty()) return;
+
+        Timer.Sample sample = Timer.start();
+        try {
+            writerTx.executeWithoutResult(status -> insert(batch));
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                dropped.increment();
+                log.error("Dropping activity entry {}", batch.get(0), e);
+            } else {
+                // one bad row (e.g. a task that no longer exists) must not sink the whole batch
+                log.warn("Batch insert of {} activity entries failed, retrying one by one", batch.size(), e);
+                batch.forEach(entry -> write(List.of(entry)));
+            }
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void insert(List<PendingActivity> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (PendingActivity a : batch) {
+            args.add(new Object[]{
+                    allocateId(), a.taskId(), a.performedById(), a.action(), a.details(), Timestamp.valueOf(a.createdAt())
+            });
+        }
+        jdbc.batchUpdate(INSERT_SQL, args,
+                new int[]{Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP});
+        updateCounters(batch);
+    }
+
+    /** One UPDATE per task of the batch, in task id order so concurrent batches lock rows alike */
+    private void updateCounters(List<PendingActivity> batch) {
+        Map<Long, Integer> counts = new TreeMap<>();
+        Map<Long, LocalDateTime> newest = new HashMap<>();
+        for (PendingActivity a : batch) {
+            counts.merge(a.taskId(), 1, Integer::sum);
+            newest.merge(a.taskId(), a.createdAt(), (x, y) -> x.isAfter(y) ? x : y);
+        }
+        List<Object[]> args = new ArrayList<>(counts.size());
+        counts.forEach((taskId, count) ->
+                args.add(new Object[]{count, Timestamp.valueOf(newest.get(taskId)), taskId}));
+        jdbc.batchUpdate(COUNT_SQL, args, new int[]{Types.INTEGER, Types.TIMESTAMP, Types.BIGINT});
+        dataVersion.advanceAfterCommit(); // task lists show the counters
+    }
+
+    /**
+     * Hand out ids from the same sequence Hibernate uses for {@code TaskActivity}. Like
+     * Hibernate's pooled-lo optimizer, each sequence value {@code v} reserves the block
+     * {@code [v, v + ALLOCATION_SIZE)}, so one round trip covers {@value #ALLOCATION_SIZE} rows.
+     */
+    private long allocateId() {
+        idLock.lock();
+        try {
+            if (nextId > lastId) {
+                Long lo = jdbc.queryForObject("select next value for " + SEQUENCE, Long.class);
+                nextId = lo;
+                lastId = lo + ALLOCATION_SIZE - 1;
+            }
+            return nextId++;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    // ---- lifecycle ----
+
+    @Override
+    public void start() {
+        if (!async) return;
+        running = true;
+        worker = new Thread(this::runLoop, "activity-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(flushInterval.toMillis() * 4 + 5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush(); // anything that arrived after the worker exited
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // stop after the web server has finished in-flight requests, so their entries are drained too
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
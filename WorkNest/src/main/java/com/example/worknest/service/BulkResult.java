@@ -0,0 +1,16 @@
+package com.example.worknest.service;
+
+import java.util.List;
+
+/** Outcome of a bulk task operation */
+public record BulkResult(int matched, List<Long> updatedIds) {
+
+    public int updated() {
+        return updatedIds.size();
+    }
+
+    /** Matched but left alone: frozen, or already in the requested state */
+    public int skipped() {
+        return matched - updatedIds.size();
+    }
+}
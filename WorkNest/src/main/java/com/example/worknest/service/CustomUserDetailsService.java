@@ -2,15 +2,19 @@ package com.example.worknest.service;
 
 import com.example.worknest.model.User;
 import com.example.worknest.repository.UserRepository;
+import com.example.worknest.security.WorkNestUserDetails;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepo;
 
@@ -19,10 +23,16 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .roles(user.getRole()) // "ADMIN" or "USER"
-                .build();
+        return WorkNestUserDetails.from(user); // keeps id + role ("ADMIN" or "USER")
+    }
+
+    /** Store a hash upgraded to the current encoding after a successful login */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = UserService.USER_CACHE, allEntries = true)
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepo.updatePassword(user.getUsername(), newPassword);
+        WorkNestUserDetails details = (WorkNestUserDetails) user;
+        return new WorkNestUserDetails(details.getId(), details.getUsername(), newPassword, details.getRole());
     }
 }
@@ -0,0 +1,7 @@
+package com.example.worknest.service;
+
+/** Point-in-time dashboard counters (active tasks only) */
+public record DashboardStats(long pending, long inProgress, long completed, long delayed) {
+
+    public static final DashboardStats EMPTY = new DashboardStats(0, 0, 0, 0);
+}
@@ -0,0 +1,173 @@
+package com.example.worknest.service;
+
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.event.TaskSnapshot;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.repository.AssigneeStatusCount;
+import com.example.worknest.repository.TaskRepository;
+import com.example.worknest.repository.TaskStatusCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dashboard counters kept in memory.
+ *
+ * <p>Counters are loaded with two grouped queries (global and per assignee) at startup and then
+ * adjusted from {@link TaskChangedEvent}s after each commit, so dashboard reads never hit the
+ * database. A periodic reconciliation reloads them to correct any drift; a reload that a change
+ * committed during is thrown away and retried, as the counts may or may not include that change
+ * and, unlike membership, deltas cannot be replayed on top twice. "Delayed" counts the
+ * persisted overdue flag, so tasks passing their due date arrive as ordinary change events from
+ * {@link DueDateScheduler}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardStatsService {
+
+    private static final int RELOAD_ATTEMPTS = 3;
+
+    private final TaskRepository taskRepo;
+
+    // all fields below are guarded by "this"
+    private Counters global = new Counters();
+    private Map<Long, Counters> byUser = new HashMap<>();
+    private boolean loaded;
+    private long changes; // change events received, loaded or not
+
+    /** Counters over all active tasks */
+    public DashboardStats global() {
+        ensureLoaded();
+        synchronized (this) {
+            return global.toStats();
+        }
+    }
+
+    /** Counters over the active tasks assigned to one user */
+    public DashboardStats forUser(Long userId) {
+        ensureLoaded();
+        synchronized (this) {
+            Counters c = byUser.get(userId);
+            return c != null ? c.toStats() : DashboardStats.EMPTY;
+        }
+    }
+
+    @Order(DataVersion.BEFORE_ADVANCE)
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (this) {
+            changes++;
+            if (!loaded) return; // the initial load will see this change
+
+            if (event.before() != null) apply(event.before(), -1);
+            if (event.after() != null) apply(event.after(), +1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reconcile();
+    }
+
+    /** Reload every counter from the database and replace the in-memory state */
+    @Scheduled(initialDelayString = "${worknest.stats.reconcile-interval:PT5M}",
+               fixedDelayString = "${worknest.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        for (int attempt = 1; ; attempt++) {
+            long seen;
+            synchronized (this) {
+                seen = changes;
+            }
+
+            Counters freshGlobal = new Counters();
+            for (TaskStatusCount row : taskRepo.countActiveByStatus()) {
+                freshGlobal.add(row);
+            }
+            Map<Long, Counters> freshByUser = new HashMap<>();
+            for (AssigneeStatusCount row : taskRepo.countActiveByAssigneeAndStatus()) {
+                freshByUser.computeIfAbsent(row.getUserId(), id -> new Counters()).add(row);
+            }
+
+            synchronized (this) {
+                if (changes != seen && attempt < RELOAD_ATTEMPTS) continue;
+                if (changes != seen && loaded) {
+                    // the counters kept up by events are as good as they get under this much load
+                    log.debug("Dashboard counters not reconciled: tasks kept changing during {} reloads", attempt);
+                    return;
+                }
+                if (loaded && !global.equals(freshGlobal)) {
+                    log.warn("Dashboard counters drifted: memory={} database={}", global.toStats(), freshGlobal.toStats());
+                }
+                global = freshGlobal;
+                byUser = freshByUser;
+                loaded = true;
+                return;
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        boolean ready;
+        synchronized (this) {
+            ready = loaded;
+        }
+        if (!ready) reconcile();
+    }
+
+    private void apply(TaskSnapshot s, int sign) {
+        if (s.deleted()) return;
+
+        boolean delayed = s.overdue();
+        global.add(s.status(), delayed, sign);
+        for (Long userId : s.assigneeIds()) {
+            byUser.computeIfAbsent(userId, id -> new Counters()).add(s.status(), delayed, sign);
+        }
+    }
+
+    private static final class Counters {
+        private long pending;
+        private long inProgress;
+        private long completed;
+        private long delayed;
+
+        void add(TaskStatusCount row) {
+            add(row.getStatus(), row.getTotal(), row.getDelayed());
+        }
+
+        void add(TaskStatus status, boolean isDelayed, int sign) {
+            add(status, sign, isDelayed ? sign : 0);
+        }
+
+        private void add(TaskStatus status, long count, long delayedCount) {
+            switch (status) {
+                case PENDING -> pending += count;
+                case IN_PROGRESS -> inProgress += count;
+                case COMPLETED -> completed += count;
+            }
+            delayed += delayedCount;
+        }
+
+        DashboardStats toStats() {
+            return new DashboardStats(pending, inProgress, completed, delayed);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Counters c && toStats().equals(c.toStats());
+        }
+
+        @Override
+        public int hashCode() {
+            return toStats().hashCode();
+        }
+    }
+}
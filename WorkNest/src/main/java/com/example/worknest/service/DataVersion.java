@@ -0,0 +1,72 @@
+package com.example.worknest.service;
+
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.event.TaskCommentAddedEvent;
+import com.example.worknest.event.UserChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter that moves forward after every committed task or user change. Anything derived from
+ * that data (e.g. cached page fragments) is current as long as the version it was built at is.
+ *
+ * <p>Its listeners run last. The in-memory views that pages are rendered from (dashboard
+ * counters, membership, search) listen at {@link #BEFORE_ADVANCE}, so they have applied a change
+ * before the version that announces it becomes visible; otherwise a fragment rendered in between
+ * would be cached, stale, under the new version.
+ */
+@Component
+public class DataVersion {
+
+    /** Order for listeners that keep derived views current; ahead of the version's own listeners */
+    public static final int BEFORE_ADVANCE = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Move forward for a change made outside the task/user events (e.g. task counters): once the
+     * current transaction commits, or right away without one.
+     */
+    public void advanceAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    // fallbackExecution: UserService writes are not always inside a transaction
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    // comment counts are part of the task lists
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(TaskCommentAddedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.worknest.service;
+
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.event.TaskDueSoonEvent;
+import com.example.worknest.event.TaskSnapshot;
+import com.example.worknest.model.Task;
+import com.example.worknest.model.User;
+import com.example.worknest.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Flags tasks overdue once their due date has passed and sends "due in N days" reminders.
+ *
+ * <p>Due dates are whole days, so there is work only once a day: the first sweep after midnight
+ * (or at startup) handles exactly the due dates passed since the previous one, walking
+ * idx_tasks_due_date in locked batches; every other sweep is a date comparison. Tasks created
+ * or reopened after their due date are flagged by {@link TaskService} directly.
+ *
+ * <p>Rows are locked and only updated while still unflagged, so each task turns overdue once
+ * even with several instances sweeping. It then gets a system activity entry and a
+ * {@link TaskChangedEvent}, which keeps the dashboard counters and live pages current.
+ * Reminders store the smallest window already sent in {@code reminderDays}, so each window
+ * fires at most once per task, across restarts as well; {@link TaskService} resets it when a
+ * task comes back from deletion or the archive. "Today" is taken from the {@link Clock} bean.
+ */
+@Slf4j
+@Service
+public class DueDateScheduler {
+
+    private final TaskRepository taskRepo;
+    private final TaskActivityService activityService;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final int[] reminderDays; // ascending, so the nearest window wins when several apply
+    private final int batchSize;
+    private final Clock clock;
+
+    // due dates before this have been handled; null until the first (catch-up) sweep
+    private LocalDate sweptUntil;
+
+    public DueDateScheduler(TaskRepository taskRepo,
+                            TaskActivityService activityService,
+                            ApplicationEventPublisher events,
+                            TransactionTemplate tx,
+                            @Value("${worknest.due-dates.reminder-days:1,3}") int[] reminderDays,
+                            @Value("${worknest.due-dates.batch-size:500}") int batchSize,
+                            Clock clock) {
+        this.taskRepo = taskRepo;
+        this.activityService = activityService;
+        this.events = events;
+        this.tx = tx;
+        this.reminderDays = Arrays.stream(reminderDays).filter(d -> d >= 0).distinct().sorted().toArray();
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        sweep();
+    }
+
+    @Scheduled(initialDelayString = "${worknest.due-dates.sweep-interval:PT1M}",
+               fixedDelayString = "${worknest.due-dates.sweep-interval:PT1M}")
+    public synchronized void sweep() {
+        LocalDate today = LocalDate.now(clock);
+        if (today.equals(sweptUntil)) return;
+
+        int overdue = markOverdue(sweptUntil, today);
+        int reminded = 0;
+        for (int days : reminderDays) {
+            reminded += remind(today, days);
+        }
+        if (overdue > 0 || reminded > 0) {
+            log.info("Due dates on {}: {} tasks now overdue, {} reminders sent", today, overdue, reminded);
+        }
+        sweptUntil = today;
+    }
+
+    /** Flag open tasks due in [from, today); from = null means any date before today */
+    private int markOverdue(LocalDate from, LocalDate today) {
+        int total = 0;
+        int batch;
+        do {
+            batch = tx.execute(s -> markOverdueBatch(from, today));
+            total += batch;
+        } while (batch == batchSize);
+        return total;
+    }
+
+    private int markOverdueBatch(LocalDate from, LocalDate today) {
+        List<Task> tasks = from == null
+                ? taskRepo.lockDueBefore(today, Limit.of(batchSize))
+                : taskRepo.lockDueBetween(from, today, Limit.of(batchSize));
+        if (tasks.isEmpty()) return 0;
+
+        List<Long> ids = tasks.stream().map(Task::getId).toList();
+        taskRepo.fetchAssignees(ids);
+        // deleted tasks keep an accurate flag for a later restore, but nobody is told
+        List<Task> active = tasks.stream().filter(t -> !t.isDeleted()).toList();
+        List<TaskSnapshot> before = active.stream().map(TaskSnapshot::of).toList();
+
+        taskRepo.markOverdue(ids); // clears the persistence context
+        for (int i = 0; i < active.size(); i++) {
+            Task t = active.get(i);
+            activityService.logSystem(t, "Overdue", "Due date " + t.getDueDate() + " has passed");
+            events.publishEvent(new TaskChangedEvent(t.getId(), before.get(i), before.get(i).withOverdue(true)));
+        }
+        return tasks.size();
+    }
+
+    /** Remind assignees of open tasks due within {@code days} that have not had this reminder */
+    private int remind(LocalDate today, int days) {
+        int total = 0;
+        int batch;
+        do {
+            batch = tx.execute(s -> remindBatch(today, days));
+            total += batch;
+        } while (batch == batchSize);
+        return total;
+    }
+
+    private int remindBatch(LocalDate today, int days) {
+        List<Task> tasks = taskRepo.lockDueForReminder(today, today.plusDays(days), days, Limit.of(batchSize));
+        if (tasks.isEmpty()) return 0;
+
+        List<Long> ids = tasks.stream().map(Task::getId).toList();
+        taskRepo.fetchAssignees(ids);
+        List<TaskDueSoonEvent> reminders = tasks.stream()
+                .map(t -> new TaskDueSoonEvent(t.getId(), t.getTitle(), t.getDueDate(),
+                        ChronoUnit.DAYS.between(today, t.getDueDate()),
+                        t.getAssignees().stream().map(User::getId).collect(Collectors.toUnmodifiableSet())))
+                .toList();
+
+        taskRepo.markReminded(ids, days); // clears the persistence context
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskDueSoonEvent r = reminders.get(i);
+            activityService.logSystem(tasks.get(i), "Reminder", r.daysLeft() == 0
+                    ? "Due today" : "Due in " + r.daysLeft() + (r.daysLeft() == 1 ? " day" : " days"));
+            events.publishEvent(r);
+        }
+        return tasks.size();
+    }
+}
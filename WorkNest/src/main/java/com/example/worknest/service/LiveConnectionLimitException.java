@@ -0,0 +1,12 @@
+package com.example.worknest.service;
+
+/**
+ * worknest.live.max-connections streams are already open; no new one was opened. The page
+ * still works, it just is not updated live.
+ */
+public class LiveConnectionLimitException extends RuntimeException {
+
+    public LiveConnectionLimitException(int maxConnections) {
+        super("Too many live update connections (" + maxConnections + ")");
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.worknest.service;
+
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.event.TaskCommentAddedEvent;
+import com.example.worknest.event.TaskDueSoonEvent;
+import com.example.worknest.event.TaskSnapshot;
+import com.example.worknest.model.TaskStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed task changes to open browser pages over Server-Sent Events.
+ *
+ * <p>There are two kinds of channel: one per task (its detail page) and one per user (their
+ * dashboard). Connections are servlet async requests, so an idle subscriber holds a socket but
+ * no thread. Events are serialized once and written to every subscriber by a single sender
+ * thread fed from a bounded queue; when the queue is full the update is dropped (pages can
+ * always be reloaded) rather than slowing down the transaction that produced it.
+ *
+ * <p>A periodic heartbeat comment keeps proxies from closing idle streams and is how dead
+ * connections get noticed and removed.
+ */
+@Slf4j
+@Service
+public class LiveUpdateService {
+
+    private final ObjectMapper mapper;
+    private final Duration timeout;
+    private final int maxConnections;
+    private final ThreadPoolExecutor sender;
+
+    private final Map<Long, Set<Subscriber>> byTask = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final Counter sent;
+    private final Counter dropped;
+
+    public LiveUpdateService(ObjectMapper mapper,
+                             MeterRegistry meters,
+                             @Value("${worknest.live.timeout:PT30M}") Duration timeout,
+                             @Value("${worknest.live.max-connections:10000}") int maxConnections,
+                             @Value("${worknest.live.queue-capacity:10000}") int queueCapacity) {
+        this.mapper = mapper;
+        this.timeout = timeout;
+        this.maxConnections = maxConnections;
+        this.sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "live-update-sender");
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, executor) -> onQueueFull());
+
+        Gauge.builder("worknest.live.connections", connections, AtomicInteger::get)
+                .description("Open live update (SSE) connections")
+                .register(meters);
+        Gauge.builder("worknest.live.queue.depth", sender, e -> e.getQueue().size())
+                .description("Live updates waiting to be sent")
+                .register(meters);
+        this.sent = meters.counter("worknest.live.sent");
+        this.dropped = meters.counter("worknest.live.dropped");
+    }
+
+    /** Payload of a "task" event: the task's state after the change and what changed */
+    public record TaskUpdate(long taskId, String title, TaskStatus status, boolean frozen, boolean deleted,
+                             boolean overdue, List<String> changes) {
+    }
+
+    /** Payload of a "reminder" event */
+    public record DueReminder(long taskId, String title, LocalDate dueDate, long daysLeft) {
+    }
+
+    /** Payload of a "comment" event */
+    public record CommentUpdate(long taskId, long commentId, String author, String content, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Open a stream for one task's detail page. {@code admin} subscribers keep the stream when
+     * the task's assignees change; anyone else is disconnected once they are no longer assigned.
+     * @throws LiveConnectionLimitException if worknest.live.max-connections streams are open
+     */
+    public SseEmitter subscribeToTask(Long taskId, Long userId, boolean admin) {
+        return subscribe(byTask, taskId, new Subscriber(userId, admin, newEmitter()));
+    }
+
+    /** Open a stream for one user's dashboard */
+    public SseEmitter subscribeToDashboard(Long userId) {
+        return subscribe(byUser, userId, new Subscriber(userId, false, newEmitter()));
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+        if (after == null) {
+            if (before != null) onTaskArchived(event.taskId(), before);
+            return;
+        }
+
+        List<String> changes = changes(before, after);
+        if (changes.isEmpty()) return;
+
+        String data = toJson(new TaskUpdate(event.taskId(), after.title(), after.status(), after.frozen(),
+                after.deleted(), after.overdue(), changes));
+
+        // dashboards of everyone who had or now has the task
+        Set<Long> users = new HashSet<>(after.assigneeIds());
+        if (before != null) users.addAll(before.assigneeIds());
+
+        enqueue(() -> {
+            Set<Subscriber> taskSubscribers = byTask.getOrDefault(event.taskId(), Set.of());
+            send(byTask, event.taskId(), taskSubscribers, "task", data);
+            for (Subscriber s : taskSubscribers) {
+                if (!s.admin() && !after.assigneeIds().contains(s.userId())) {
+                    send(byTask, event.taskId(), List.of(s), "revoked", data);
+                    remove(byTask, event.taskId(), s);
+                    s.emitter().complete();
+                }
+            }
+            for (Long userId : users) {
+                send(byUser, userId, byUser.getOrDefault(userId, Set.of()), "task", data);
+            }
+        });
+    }
+
+    /** The task is gone: its detail pages lose their stream, dashboards are told to reload */
+    private void onTaskArchived(Long taskId, TaskSnapshot before) {
+        String data = toJson(new TaskUpdate(taskId, before.title(), before.status(), before.frozen(),
+                before.deleted(), before.overdue(), List.of("archived")));
+
+        enqueue(() -> {
+            for (Subscriber s : byTask.getOrDefault(taskId, Set.of())) {
+                send(byTask, taskId, List.of(s), "revoked", data);
+                remove(byTask, taskId, s);
+                s.emitter().complete();
+            }
+            for (Long userId : before.assigneeIds()) {
+                send(byUser, userId, byUser.getOrDefault(userId, Set.of()), "task", data);
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onCommentAdded(TaskCommentAddedEvent event) {
+        String data = toJson(new CommentUpdate(event.taskId(), event.commentId(), event.author(), event.content(),
+                event.createdAt()));
+        enqueue(() -> send(byTask, event.taskId(), byTask.getOrDefault(event.taskId(), Set.of()), "comment", data));
+    }
+
+    @TransactionalEventListener
+    public void onTaskDueSoon(TaskDueSoonEvent event) {
+        String data = toJson(new DueReminder(event.taskId(), event.title(), event.dueDate(), event.daysLeft()));
+        enqueue(() -> {
+            send(byTask, event.taskId(), byTask.getOrDefault(event.taskId(), Set.of()), "reminder", data);
+            for (Long userId : event.assigneeIds()) {
+                send(byUser, userId, byUser.getOrDefault(userId, Set.of()), "reminder", data);
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${worknest.live.heartbeat-interval:PT25S}",
+               fixedDelayString = "${worknest.live.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        if (connections.get() == 0) return;
+        enqueue(() -> {
+            byTask.forEach((id, subscribers) -> ping(byTask, id, subscribers));
+            byUser.forEach((id, subscribers) -> ping(byUser, id, subscribers));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        byTask.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter().complete()));
+        byUser.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter().complete()));
+    }
+
+    static List<String> changes(TaskSnapshot before, TaskSnapshot after) {
+        if (before == null) return List.of("created");
+
+        List<String> changes = new ArrayList<>(2);
+        if (before.status() != after.status()) changes.add("status");
+        if (before.frozen() != after.frozen()) changes.add("frozen");
+        if (before.overdue() != after.overdue()) changes.add("overdue");
+        if (before.deleted() != after.deleted()) changes.add(after.deleted() ? "deleted" : "restored");
+        if (!before.assigneeIds().equals(after.assigneeIds())) changes.add("assignees");
+        return changes;
+    }
+
+    private SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private SseEmitter subscribe(Map<Long, Set<Subscriber>> channels, Long key, Subscriber subscriber) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new LiveConnectionLimitException(maxConnections);
+        }
+        channels.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        SseEmitter emitter = subscriber.emitter();
+        Runnable remove = () -> remove(channels, key, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    private void remove(Map<Long, Set<Subscriber>> channels, Long key, Subscriber subscriber) {
+        Set<Subscriber> subscribers = channels.get(key);
+        if (subscribers != null && subscribers.remove(subscriber)) {
+            connections.decrementAndGet();
+            // drop the channel once it is empty, unless someone subscribed in the meantime
+            channels.computeIfPresent(key, (k, set) -> set.isEmpty() ? null : set);
+        }
+    }
+
+    private void send(Map<Long, Set<Subscriber>> channels, Long key, Collection<Subscriber> subscribers,
+                      String name, String data) {
+        for (Subscriber s : subscribers) {
+            try {
+                s.emitter().send(SseEmitter.event().name(name).data(data));
+                sent.increment();
+            } catch (IOException | IllegalStateException e) {
+                // client went away (or the emitter already completed)
+                remove(channels, key, s);
+            }
+        }
+    }
+
+    private void ping(Map<Long, Set<Subscriber>> channels, Long key, Set<Subscriber> subscribers) {
+        for (Subscriber s : subscribers) {
+            try {
+                s.emitter().send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                remove(channels, key, s);
+            }
+        }
+    }
+
+    private void enqueue(Runnable delivery) {
+        if (connections.get() == 0) return; // nobody is listening
+        sender.execute(() -> {
+            try {
+                delivery.run();
+            } catch (RuntimeException e) {
+                log.warn("Live update delivery failed", e);
+            }
+        });
+    }
+
+    private void onQueueFull() {
+        if (!sender.isShutdown()) dropped.increment();
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return mapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize live update", e);
+        }
+    }
+
+    private record Subscriber(Long userId, boolean admin, SseEmitter emitter) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.worknest.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * An activity row waiting to be written by {@link ActivityLogWriter}. Holds ids only, so it
+ * can outlive the persistence context of the request that created it.
+ *
+ * @param taskId        the task the activity belongs to
+ * @param performedById the acting user, or null for system actions
+ */
+public record PendingActivity(Long taskId,
+                              Long performedById,
+                              String action,
+                              String details,
+                              LocalDateTime createdAt) {
+}
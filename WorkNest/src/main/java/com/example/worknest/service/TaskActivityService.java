@@ -3,23 +3,37 @@ package com.example.worknest.service;
 
 import com.example.worknest.model.Task;
 import com.example.worknest.model.TaskActivity;
+import com.example.worknest.model.TaskComment;
 import com.example.worknest.model.User;
 import com.example.worknest.repository.TaskActivityRepository;
+import com.example.worknest.repository.TimelineStamp;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service
+@Timed("worknest.service")
 @RequiredArgsConstructor
 public class TaskActivityService {
 
+    private static final int DETAILS_MAX_LENGTH = 255; // task_activity.details column size
+    private static final int COMMENT_PREVIEW_LENGTH = 80;
+
     private final TaskActivityRepository repo;
+    private final ActivityLogWriter writer;
 
     /**
-     * Log an activity for a task
-     * @param task The task (must be a managed entity)
+     * Log an activity for a task. The row is handed to {@link ActivityLogWriter}; in async mode
+     * it is written shortly after the surrounding transaction (if any) commits.
+     * @param task The task (must have an id)
      * @param performedBy The user who performed the action (can be null = system)
      * @param action Short label like "Status Update", "Comment", "Reassign"
      * @param details Additional description/details
@@ -28,16 +42,75 @@ public class TaskActivityService {
         if (task == null) {
             throw new IllegalArgumentException("Task cannot be null for activity logging");
         }
+        log(task.getId(), performedBy, action, details);
+    }
+
+    /**
+     * Same as {@link #log(Task, User, String, String)} when only the task id is at hand
+     */
+    public void log(Long taskId, User performedBy, String action, String details) {
+        if (taskId == null) {
+            throw new IllegalArgumentException("Task id cannot be null for activity logging");
+        }
+
+        PendingActivity activity = new PendingActivity(
+                taskId,
+                performedBy != null ? performedBy.getId() : null, // null = system action
+                action != null ? action : "Unknown Action",
+                truncate(details != null ? details : ""),
+                LocalDateTime.now());
+
+        if (writer.isAsync() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            // don't let the writer see a row whose task might still roll back
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writer.submit(activity);
+                }
+            });
+        } else {
+            writer.submit(activity);
+        }
+    }
+
+    /**
+     * Log the same action for many tasks at once (bulk operations). The entries are handed to the
+     * writer together, after commit when a transaction is active.
+     */
+    public void logAll(Collection<Long> taskIds, User performedBy, String action, String details) {
+        if (taskIds.isEmpty()) return;
 
-        TaskActivity activity = TaskActivity.builder()
-                .task(task)
-                .performedBy(performedBy) // can be null (system action)
-                .action(action != null ? action : "Unknown Action")
-                .details(details != null ? details : "")
-                .createdAt(LocalDateTime.now())
-                .build();
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingActivity> activities = new ArrayList<>(taskIds.size());
+        for (Long taskId : taskIds) {
+            activities.add(new PendingActivity(
+                    taskId,
+                    performedBy != null ? performedBy.getId() : null,
+                    action != null ? action : "Unknown Action",
+                    truncate(details != null ? details : ""),
+                    now));
+        }
 
-        repo.save(activity);
+        if (writer.isAsync() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writer.submitAll(activities);
+                }
+            });
+        } else {
+            writer.submitAll(activities);
+        }
+    }
+
+    /**
+     * Log a new comment. The comment itself lives in task_comments; the entry only keeps its id
+     * and a short preview.
+     */
+    public void logComment(TaskComment comment, User author) {
+        String flat = comment.getContent().strip().replaceAll("\\s+", " ");
+        String preview = flat.length() <= COMMENT_PREVIEW_LENGTH ? flat : flat.substring(0, COMMENT_PREVIEW_LENGTH) + "…";
+        log(comment.getTask().getId(), author, "Comment", "Comment #" + comment.getId() + ": " + preview);
     }
 
     /**
@@ -53,4 +126,32 @@ public class TaskActivityService {
     public List<TaskActivity> getForTask(Long taskId) {
         return repo.findByTask_IdOrderByCreatedAtDesc(taskId);
     }
+
+    /**
+     * One page of a task's activity, newest first, starting after {@code cursor} (null = newest)
+     */
+    public TimelinePage<TaskActivity> getPage(Long taskId, TimelineCursor cursor, int size) {
+        if (size < 1) throw new IllegalArgumentException("Page size must be positive");
+
+        // one extra row tells us whether an older page exists
+        List<TaskActivity> rows = cursor == null
+                ? repo.findNewest(taskId, Limit.of(size + 1))
+                : repo.findOlder(taskId, cursor.createdAt(), cursor.id(), Limit.of(size + 1));
+        if (rows.size() <= size) return new TimelinePage<>(rows, null);
+
+        List<TaskActivity> page = rows.subList(0, size);
+        TaskActivity last = page.get(size - 1);
+        return new TimelinePage<>(List.copyOf(page), new TimelineCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    /**
+     * Entry count and newest id of a task's activity (index-only), for cheap change detection
+     */
+    public TimelineStamp stamp(Long taskId) {
+        return repo.stampOf(taskId);
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= DETAILS_MAX_LENGTH ? text : text.substring(0, DETAILS_MAX_LENGTH - 1) + "…";
+    }
 }
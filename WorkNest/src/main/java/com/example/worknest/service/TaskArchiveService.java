@@ -0,0 +1,193 @@
+package com.example.worknest.service;
+
+import com.example.worknest.event.TaskCommentAddedEvent;
+import com.example.worknest.model.TaskStatus;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The archive: {@code archived_*} copies of tasks, task_assignees, task_comments, task_activity
+ * and task_reassignment for tasks that are done with.
+ *
+ * <p>{@link TaskArchiver} moves tasks in and {@link TaskService#restore} moves them back out.
+ * Both copy the rows with set-based INSERT ... SELECT statements and delete them on the other
+ * side in the caller's transaction, so a task is always in exactly one place. Everything else
+ * only reads the archive; the hot tables never see archived rows.
+ */
+@Service
+@Timed("worknest.service")
+@Transactional
+@RequiredArgsConstructor
+public class TaskArchiveService {
+
+    private static final String TASK_COLUMNS = "id, title, description, status, start_date, due_date, "
+            + "frozen, deleted, overdue, reminder_days, version, completed_at, deleted_at, "
+            + "comment_count, activity_count, last_activity_at";
+
+    // rows hanging off a task, copied after and deleted before their task
+    private static final List<Child> CHILDREN = List.of(
+            new Child("task_assignees", "task_id, user_id"),
+            new Child("task_comments", "id, task_id, author_id, content, created_at"),
+            new Child("task_activity", "id, task_id, performed_by_id, action, details, created_at"),
+            new Child("task_reassignment", "id, task_id, from_user_id, to_user_id, comment, reassigned_at"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /** A task as it was archived, with its assignees' usernames */
+    public record ArchivedTask(Long id, String title, String description, TaskStatus status,
+                               LocalDate startDate, LocalDate dueDate, boolean frozen, boolean deleted,
+                               LocalDateTime completedAt, LocalDateTime deletedAt, LocalDateTime archivedAt,
+                               List<String> assignees) {
+    }
+
+    public record ArchivedComment(Long id, String author, String content, LocalDateTime createdAt) {
+    }
+
+    /** {@code performedBy} is null for system entries */
+    public record ArchivedActivity(Long id, String performedBy, String action, String details,
+                                   LocalDateTime createdAt) {
+    }
+
+    /**
+     * Move tasks and everything hanging off them into the archive. The caller must hold row
+     * locks on the tasks, so nothing changes them between the copy and the delete.
+     */
+    public void archive(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) return;
+
+        Map<String, Object> params = Map.of("ids", taskIds, "now", LocalDateTime.now());
+        int copied = jdbc.update("insert into archived_tasks (" + TASK_COLUMNS + ", archived_at) " +
+                "select " + TASK_COLUMNS + ", :now from tasks where id in (:ids)", params);
+        if (copied != taskIds.size()) {
+            throw new IllegalStateException("Archived " + copied + " tasks, expected " + taskIds.size());
+        }
+        for (Child c : CHILDREN) {
+            jdbc.update("insert into archived_" + c.table() + " (" + c.columns() + ") " +
+                    "select " + c.columns() + " from " + c.table() + " where task_id in (:ids)", params);
+        }
+        for (Child c : CHILDREN) {
+            jdbc.update("delete from " + c.table() + " where task_id in (:ids)", params);
+        }
+        jdbc.update("delete from tasks where id in (:ids)", params);
+    }
+
+    /** Whether the task is archived; locks it there, so a concurrent restore waits and then finds nothing */
+    public boolean lockArchived(Long taskId) {
+        return !jdbc.queryForList("select id from archived_tasks where id = :id for update",
+                Map.of("id", taskId), Long.class).isEmpty();
+    }
+
+    /**
+     * Move a task locked with {@link #lockArchived} back into the hot tables, unchanged.
+     * @return its comments as {@link TaskCommentAddedEvent}s, for listeners that index them
+     */
+    public List<TaskCommentAddedEvent> unarchive(Long taskId) {
+        Map<String, Object> params = Map.of("ids", List.of(taskId));
+        jdbc.update("insert into tasks (" + TASK_COLUMNS + ") " +
+                "select " + TASK_COLUMNS + " from archived_tasks where id in (:ids)", params);
+        for (Child c : CHILDREN) {
+            jdbc.update("insert into " + c.table() + " (" + c.columns() + ") " +
+                    "select " + c.columns() + " from archived_" + c.table() + " where task_id in (:ids)", params);
+        }
+        List<TaskCommentAddedEvent> comments = jdbc.query(
+                "select c.id, u.username, c.content, c.created_at from archived_task_comments c " +
+                "join users u on u.id = c.author_id where c.task_id in (:ids)", params,
+                (rs, n) -> new TaskCommentAddedEvent(taskId, rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getObject(4, LocalDateTime.class)));
+        for (Child c : CHILDREN) {
+            jdbc.update("delete from archived_" + c.table() + " where task_id in (:ids)", params);
+        }
+        jdbc.update("delete from archived_tasks where id in (:ids)", params);
+        return comments;
+    }
+
+    /** One page of archived tasks, most recently archived first, starting after {@code cursor} */
+    public TimelinePage<ArchivedTask> findPage(TimelineCursor cursor, int size) {
+        if (size < 1) throw new IllegalArgumentException("Page size must be positive");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("limit", size + 1); // one extra row tells us whether an older page exists
+        String after = "";
+        if (cursor != null) {
+            after = "where archived_at < :at or (archived_at = :at and id < :id) ";
+            params.put("at", cursor.createdAt());
+            params.put("id", cursor.id());
+        }
+        List<ArchivedTask> rows = withAssignees(jdbc.query("select " + TASK_COLUMNS + ", archived_at from archived_tasks "
+                + after + "order by archived_at desc, id desc limit :limit", params, TaskArchiveService::task));
+        if (rows.size() <= size) return new TimelinePage<>(rows, null);
+
+        List<ArchivedTask> page = rows.subList(0, size);
+        ArchivedTask last = page.get(size - 1);
+        return new TimelinePage<>(List.copyOf(page), new TimelineCursor(last.archivedAt(), last.id()).encode());
+    }
+
+    public ArchivedTask getById(Long taskId) {
+        List<ArchivedTask> rows = jdbc.query("select " + TASK_COLUMNS + ", archived_at from archived_tasks where id = :id",
+                Map.of("id", taskId), TaskArchiveService::task);
+        if (rows.isEmpty()) throw new IllegalArgumentException("Archived task not found");
+        return withAssignees(rows).get(0);
+    }
+
+    /** All comments of an archived task, newest first */
+    public List<ArchivedComment> comments(Long taskId) {
+        return jdbc.query("select c.id, u.username, c.content, c.created_at from archived_task_comments c " +
+                        "join users u on u.id = c.author_id where c.task_id = :id order by c.created_at desc, c.id desc",
+                Map.of("id", taskId),
+                (rs, n) -> new ArchivedComment(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getObject(4, LocalDateTime.class)));
+    }
+
+    /** All activity of an archived task, newest first */
+    public List<ArchivedActivity> activity(Long taskId) {
+        return jdbc.query("select a.id, u.username, a.action, a.details, a.created_at from archived_task_activity a " +
+                        "left join users u on u.id = a.performed_by_id where a.task_id = :id " +
+                        "order by a.created_at desc, a.id desc",
+                Map.of("id", taskId),
+                (rs, n) -> new ArchivedActivity(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getObject(5, LocalDateTime.class)));
+    }
+
+    /** Fill in the assignees of a page of tasks with one query */
+    private List<ArchivedTask> withAssignees(List<ArchivedTask> tasks) {
+        if (tasks.isEmpty()) return tasks;
+
+        Map<Long, List<String>> names = new HashMap<>();
+        jdbc.query("select a.task_id, u.username from archived_task_assignees a join users u on u.id = a.user_id " +
+                        "where a.task_id in (:ids) order by u.username",
+                Map.of("ids", tasks.stream().map(ArchivedTask::id).toList()),
+                rs -> {
+                    names.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+                });
+        return tasks.stream()
+                .map(t -> new ArchivedTask(t.id(), t.title(), t.description(), t.status(), t.startDate(), t.dueDate(),
+                        t.frozen(), t.deleted(), t.completedAt(), t.deletedAt(), t.archivedAt(),
+                        List.copyOf(names.getOrDefault(t.id(), List.of()))))
+                .toList();
+    }
+
+    private static ArchivedTask task(ResultSet rs, int rowNum) throws SQLException {
+        return new ArchivedTask(rs.getLong("id"), rs.getString("title"), rs.getString("description"),
+                TaskStatus.valueOf(rs.getString("status")),
+                rs.getObject("start_date", LocalDate.class), rs.getObject("due_date", LocalDate.class),
+                rs.getBoolean("frozen"), rs.getBoolean("deleted"),
+                rs.getObject("completed_at", LocalDateTime.class), rs.getObject("deleted_at", LocalDateTime.class),
+                rs.getObject("archived_at", LocalDateTime.class), List.of());
+    }
+
+    private record Child(String table, String columns) {
+    }
+}
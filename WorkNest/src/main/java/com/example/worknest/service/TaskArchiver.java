@@ -0,0 +1,95 @@
+package com.example.worknest.service;
+
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.event.TaskSnapshot;
+import com.example.worknest.model.Task;
+import com.example.worknest.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Moves tasks completed or soft-deleted more than {@code after-days} ago into the archive
+ * ({@link TaskArchiveService}), so the hot tables only hold recent history.
+ *
+ * <p>Each run walks idx_tasks_completed_at and then idx_tasks_deleted_at from the oldest
+ * timestamp, in locked batches of {@code batch-size} tasks that are moved in a transaction of
+ * their own; a run never holds many locks and stops at the first task that is too recent.
+ * Archived tasks get a {@link TaskChangedEvent} without an "after" state, which takes them out
+ * of the dashboard counters, the membership index and search.
+ */
+@Slf4j
+@Service
+public class TaskArchiver {
+
+    private final TaskRepository taskRepo;
+    private final TaskArchiveService archive;
+    private final ActivityLogWriter activityWriter;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final int afterDays; // negative = never archive
+    private final int batchSize;
+
+    public TaskArchiver(TaskRepository taskRepo,
+                        TaskArchiveService archive,
+                        ActivityLogWriter activityWriter,
+                        ApplicationEventPublisher events,
+                        TransactionTemplate tx,
+                        @Value("${worknest.archive.after-days:90}") int afterDays,
+                        @Value("${worknest.archive.batch-size:500}") int batchSize) {
+        this.taskRepo = taskRepo;
+        this.archive = archive;
+        this.activityWriter = activityWriter;
+        this.events = events;
+        this.tx = tx;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${worknest.archive.interval:PT1H}",
+               fixedDelayString = "${worknest.archive.interval:PT1H}")
+    public synchronized void run() {
+        if (afterDays < 0) return;
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        activityWriter.flush(); // buffered entries of these tasks go in before their rows move
+        int completed = archive(() -> taskRepo.lockCompletedBefore(cutoff, Limit.of(batchSize)));
+        int deleted = archive(() -> taskRepo.lockDeletedBefore(cutoff, Limit.of(batchSize)));
+        if (completed > 0 || deleted > 0) {
+            log.info("Archived {} tasks completed and {} deleted before {}", completed, deleted, cutoff);
+        }
+    }
+
+    private int archive(Supplier<List<Task>> lockBatch) {
+        int total = 0;
+        int batch;
+        do {
+            batch = tx.execute(s -> archiveBatch(lockBatch));
+            total += batch;
+        } while (batch == batchSize);
+        return total;
+    }
+
+    private int archiveBatch(Supplier<List<Task>> lockBatch) {
+        List<Task> tasks = lockBatch.get();
+        if (tasks.isEmpty()) return 0;
+
+        List<Long> ids = tasks.stream().map(Task::getId).toList();
+        taskRepo.fetchAssignees(ids);
+        List<TaskSnapshot> before = tasks.stream().map(TaskSnapshot::of).toList();
+
+        archive.archive(ids);
+        for (int i = 0; i < ids.size(); i++) {
+            events.publishEvent(new TaskChangedEvent(ids.get(i), before.get(i), null));
+        }
+        return tasks.size();
+    }
+}
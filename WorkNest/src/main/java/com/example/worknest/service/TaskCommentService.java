@@ -1,18 +1,24 @@
 package com.example.worknest.service;
 
+import com.example.worknest.event.TaskCommentAddedEvent;
 import com.example.worknest.model.Task;
 import com.example.worknest.model.TaskComment;
 import com.example.worknest.model.User;
 import com.example.worknest.repository.TaskCommentRepository;
 import com.example.worknest.repository.TaskRepository;
+import com.example.worknest.repository.TimelineStamp;
 import com.example.worknest.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
+@Timed("worknest.service")
 @Transactional
 @RequiredArgsConstructor
 public class TaskCommentService {
@@ -20,6 +26,7 @@ public class TaskCommentService {
     private final TaskCommentRepository commentRepo;
     private final TaskRepository taskRepo;
     private final UserRepository userRepo;
+    private final ApplicationEventPublisher events;
 
     public TaskComment add(Long taskId, Long authorUserId, String content) {
         if (content == null || content.isBlank()) throw new IllegalArgumentException("Comment cannot be empty");
@@ -32,10 +39,33 @@ public class TaskCommentService {
                 .content(content)
                 .build();
 
-        return commentRepo.save(c);
+        TaskComment saved = commentRepo.save(c);
+        taskRepo.recordComment(taskId, saved.getCreatedAt());
+        events.publishEvent(new TaskCommentAddedEvent(taskId, saved.getId(), author.getUsername(), content, saved.getCreatedAt()));
+        return saved;
     }
 
     public List<TaskComment> listByTask(Long taskId) {
         return commentRepo.findByTaskIdOrderByCreatedAtAsc(taskId);
     }
+
+    /** One page of a task's comments, newest first, starting after {@code cursor} (null = newest) */
+    public TimelinePage<TaskComment> listPage(Long taskId, TimelineCursor cursor, int size) {
+        if (size < 1) throw new IllegalArgumentException("Page size must be positive");
+
+        // one extra row tells us whether an older page exists
+        List<TaskComment> rows = cursor == null
+                ? commentRepo.findNewest(taskId, Limit.of(size + 1))
+                : commentRepo.findOlder(taskId, cursor.createdAt(), cursor.id(), Limit.of(size + 1));
+        if (rows.size() <= size) return new TimelinePage<>(rows, null);
+
+        List<TaskComment> page = rows.subList(0, size);
+        TaskComment last = page.get(size - 1);
+        return new TimelinePage<>(List.copyOf(page), new TimelineCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    /** Comment count and newest id of a task (index-only), for cheap change detection */
+    public TimelineStamp stamp(Long taskId) {
+        return commentRepo.stampOf(taskId);
+    }
 }
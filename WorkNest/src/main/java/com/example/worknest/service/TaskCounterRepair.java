@@ -0,0 +1,96 @@
+package com.example.worknest.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recomputes the denormalized task counters ({@code comment_count}, {@code activity_count},
+ * {@code last_activity_at}) from task_comments and task_activity and fixes the tasks that are off.
+ *
+ * <p>The counters are bumped in the transaction that inserts the rows they count, so nothing
+ * should ever be off; this catches rows written around the application (manual SQL, snapshots
+ * taken before the counters existed). Each run walks the tasks in id order, in batches of
+ * {@code batch-size} that are locked first, so increments committing meanwhile either are
+ * already counted or wait and land on top of the recomputed value.
+ */
+@Slf4j
+@Service
+public class TaskCounterRepair {
+
+    private static final String LOCK_SQL = "select id from tasks where id > ? order by id fetch first ? rows only for update";
+
+    // newest comment or activity entry; greatest() is null as soon as one argument is
+    private static final String NEWEST = "greatest(coalesce(c.newest, a.newest), coalesce(a.newest, c.newest))";
+
+    // tasks in [lo, hi] whose counters are off, with the right values; last_activity_at is only
+    // ever raised, as a task without entries keeps its creation time there
+    private static final String DRIFT_SQL =
+            "select t.id, coalesce(c.n, 0), coalesce(a.n, 0), coalesce(" + NEWEST + ", t.last_activity_at) " +
+            "from tasks t " +
+            "left join (select task_id, count(*) n, max(created_at) newest from task_comments " +
+            "           where task_id between ? and ? group by task_id) c on c.task_id = t.id " +
+            "left join (select task_id, count(*) n, max(created_at) newest from task_activity " +
+            "           where task_id between ? and ? group by task_id) a on a.task_id = t.id " +
+            "where t.id between ? and ? and (t.comment_count <> coalesce(c.n, 0) " +
+            "or t.activity_count <> coalesce(a.n, 0) or t.last_activity_at < " + NEWEST + ")";
+
+    private static final String FIX_SQL =
+            "update tasks set comment_count = ?, activity_count = ?, last_activity_at = ? where id = ?";
+
+    private final JdbcTemplate jdbc;
+    private final DataVersion dataVersion;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public TaskCounterRepair(JdbcTemplate jdbc,
+                             DataVersion dataVersion,
+                             TransactionTemplate tx,
+                             @Value("${worknest.counters.repair-batch-size:1000}") int batchSize) {
+        this.jdbc = jdbc;
+        this.dataVersion = dataVersion;
+        this.tx = tx;
+        this.batchSize = batchSize;
+    }
+
+    /** @return how many tasks had their counters fixed */
+    @Scheduled(initialDelayString = "${worknest.counters.repair-interval:P1D}",
+               fixedDelayString = "${worknest.counters.repair-interval:P1D}")
+    public synchronized int run() {
+        int fixed = 0;
+        long after = Long.MIN_VALUE;
+        Batch batch;
+        do {
+            long from = after;
+            batch = tx.execute(s -> repairBatch(from));
+            fixed += batch.fixed();
+            after = batch.lastId();
+        } while (batch.tasks() == batchSize);
+
+        if (fixed > 0) log.warn("Repaired the comment/activity counters of {} tasks", fixed);
+        return fixed;
+    }
+
+    private Batch repairBatch(long afterId) {
+        List<Long> ids = jdbc.queryForList(LOCK_SQL, Long.class, afterId, batchSize);
+        if (ids.isEmpty()) return new Batch(afterId, 0, 0);
+
+        long lo = ids.get(0);
+        long hi = ids.get(ids.size() - 1);
+        List<Object[]> fixes = jdbc.query(DRIFT_SQL, (rs, n) -> new Object[]{
+                rs.getInt(2), rs.getInt(3), rs.getTimestamp(4), rs.getLong(1)}, lo, hi, lo, hi, lo, hi);
+        if (!fixes.isEmpty()) {
+            jdbc.batchUpdate(FIX_SQL, fixes);
+            dataVersion.advanceAfterCommit();
+        }
+        return new Batch(hi, ids.size(), fixes.size());
+    }
+
+    private record Batch(long lastId, int tasks, int fixed) {
+    }
+}
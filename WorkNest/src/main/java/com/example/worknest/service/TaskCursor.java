@@ -0,0 +1,55 @@
+package com.example.worknest.service;
+
+import com.example.worknest.model.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in the task list: the sort key and id of the last row of the previous page,
+ * i.e. (dueDate, id) or (lastActivityAt, id); the other key is null. Encoded in URLs as
+ * {@code 2025-01-31_42} and {@code 2025-01-31T09:15:02.123_42} respectively.
+ */
+public record TaskCursor(LocalDate dueDate, LocalDateTime lastActivityAt, long id) {
+
+    private static final char SEPARATOR = '_';
+
+    public TaskCursor(LocalDate dueDate, long id) {
+        this(dueDate, null, id);
+    }
+
+    public static TaskCursor of(Task task, TaskSort sort) {
+        return sort == TaskSort.RECENT_ACTIVITY
+                ? new TaskCursor(null, task.getLastActivityAt(), task.getId())
+                : new TaskCursor(task.getDueDate(), task.getId());
+    }
+
+    /** Parse an encoded cursor; blank means "first page" and returns null */
+    public static TaskCursor decode(String value) {
+        if (value == null || value.isBlank()) return null;
+
+        int sep = value.lastIndexOf(SEPARATOR);
+        if (sep <= 0 || sep == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid page cursor: " + value);
+        }
+        try {
+            String key = value.substring(0, sep);
+            long id = Long.parseLong(value.substring(sep + 1));
+            return key.indexOf('T') < 0
+                    ? new TaskCursor(LocalDate.parse(key), id)
+                    : new TaskCursor(null, LocalDateTime.parse(key), id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + value);
+        }
+    }
+
+    /** Whether this cursor is a position in a list in that order */
+    public boolean fits(TaskSort sort) {
+        return sort == TaskSort.RECENT_ACTIVITY ? lastActivityAt != null : dueDate != null;
+    }
+
+    public String encode() {
+        return (dueDate != null ? dueDate.toString() : lastActivityAt.toString()) + SEPARATOR + id;
+    }
+}
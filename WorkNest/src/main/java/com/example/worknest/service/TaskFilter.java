@@ -0,0 +1,30 @@
+package com.example.worknest.service;
+
+import com.example.worknest.model.TaskStatus;
+
+/**
+ * Filters for the admin task list. Every field is optional; all of them are applied in SQL.
+ *
+ * @param status      only tasks in this status (null = any)
+ * @param delayedOnly only tasks past their due date that are not completed
+ * @param assigneeId  only tasks assigned to this user (null = anyone)
+ * @param title       case-insensitive "contains" match on the title (null/blank = any)
+ * @param sort        order of the list (null = by due date)
+ * @param descending  order by (dueDate, id) descending instead of ascending; {@link TaskSort#RECENT_ACTIVITY}
+ *                    is always newest first
+ */
+public record TaskFilter(TaskStatus status,
+                         boolean delayedOnly,
+                         Long assigneeId,
+                         String title,
+                         TaskSort sort,
+                         boolean descending) {
+
+    public TaskFilter {
+        if (sort == null) sort = TaskSort.DUE_DATE;
+    }
+
+    public static TaskFilter none() {
+        return new TaskFilter(null, false, null, null, TaskSort.DUE_DATE, false);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.worknest.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads import rows one at a time from a CSV or JSON upload, so the file is never held in memory.
+ *
+ * <p>CSV needs a header row naming the columns {@code title, description, assignees, startDate,
+ * dueDate} (any order, case-insensitive); fields follow RFC 4180 quoting and {@code assignees} is a
+ * {@code ;}-separated list of usernames. A row with more fields than the header is invalid; a
+ * quoted field still open at the end of the file is malformed input. JSON is a top-level array of objects with the same fields,
+ * where {@code assignees} may be an array or a {@code ;}-separated string.
+ */
+abstract class TaskImportReader implements Closeable {
+
+    /** One raw row; values are unvalidated strings. {@code error} is set when the row could not be parsed */
+    record Row(int number, String title, String description, List<String> assignees,
+               String startDate, String dueDate, String error) {
+
+        static Row invalid(int number, String error) {
+            return new Row(number, null, null, List.of(), null, null, error);
+        }
+    }
+
+    protected int rowNumber;
+
+    /** Next row, or null at end of input */
+    abstract Row next() throws IOException;
+
+    static TaskImportReader open(String fileName, String contentType, InputStream in, ObjectMapper mapper)
+            throws IOException {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".json") || type.contains("json")) {
+            return new Json(mapper.getFactory().createParser(in), mapper);
+        }
+        if (name.endsWith(".csv") || type.contains("csv") || type.startsWith("text/")) {
+            return new Csv(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        }
+        throw new IllegalArgumentException("Unsupported file type, upload a .csv or .json file");
+    }
+
+    static List<String> splitUsernames(String value) {
+        if (value == null || value.isBlank()) return List.of();
+        return Arrays.stream(value.split(";")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    // ---- CSV ----
+
+    private static final class Csv extends TaskImportReader {
+
+        private final Reader in;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final int headerSize;
+
+        Csv(Reader in) throws IOException {
+            this.in = in;
+            List<String> header = readRecord();
+            if (header == null) throw new IllegalArgumentException("The file is empty");
+            headerSize = header.size();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("title")) {
+                throw new IllegalArgumentException("CSV header must contain a 'title' column");
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+                if (fields == null) return null;
+            } while (fields.size() == 1 && fields.get(0).isBlank()); // skip empty lines
+
+            int number = ++rowNumber;
+            if (fields.size() > headerSize) {
+                // most likely an unquoted comma, which would shift every later column
+                return Row.invalid(number, "Expected at most " + headerSize + " fields, found " + fields.size());
+            }
+            return new Row(number, field(fields, "title"), field(fields, "description"),
+                    splitUsernames(field(fields, "assignees")),
+                    field(fields, "startdate"), field(fields, "duedate"), null);
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer i = columns.get(column);
+            return i != null && i < fields.size() ? fields.get(i) : null;
+        }
+
+        /**
+         * One RFC 4180 record, or null at end of input. Quoted fields may span lines
+         * @throws IOException if the input ends inside a quoted field
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = in.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        in.mark(1);
+                        int n = in.read();
+                        if (n == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (n != -1) in.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!any) return null;
+            if (quoted) throw new IOException("Quoted field is not closed at the end of the file");
+            fields.add(field.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // ---- JSON ----
+
+    private static final class Json extends TaskImportReader {
+
+        private final JsonParser parser;
+        private final ObjectMapper mapper;
+
+        Json(JsonParser parser, ObjectMapper mapper) throws IOException {
+            this.parser = parser;
+            this.mapper = mapper;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON import must be an array of task objects");
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) return null;
+
+            int number = ++rowNumber;
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return Row.invalid(number, "Expected an object");
+            }
+            JsonNode node = mapper.readTree(parser); // one element at a time
+            return new Row(number, text(node, "title"), text(node, "description"), assignees(node.get("assignees")),
+                    text(node, "startDate"), text(node, "dueDate"), null);
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+
+        private static List<String> assignees(JsonNode value) {
+            if (value == null || value.isNull()) return List.of();
+            if (!value.isArray()) return splitUsernames(value.asText());
+            List<String> names = new ArrayList<>(value.size());
+            value.forEach(v -> {
+                if (!v.asText().isBlank()) names.add(v.asText().trim());
+            });
+            return names;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
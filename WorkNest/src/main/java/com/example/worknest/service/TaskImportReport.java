@@ -0,0 +1,52 @@
+package com.example.worknest.service;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Outcome of a bulk task import: totals plus one entry per rejected row */
+@Getter
+public class TaskImportReport {
+
+    /** A row that was not imported. {@code row} is the 1-based data row (header excluded) */
+    public record RowError(int row, String title, String message) {
+    }
+
+    private final String fileName;
+    private int rowsRead;
+    private int imported;
+    private int batches;
+    private String stoppedReason; // set when the file could not be read to the end
+    private final List<RowError> errors = new ArrayList<>();
+
+    public TaskImportReport(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public int getRejected() {
+        return errors.size();
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void batchImported(int count) {
+        imported += count;
+        batches++;
+    }
+
+    void stop(String reason) {
+        stoppedReason = reason;
+    }
+
+    void reject(int row, String title, String message) {
+        errors.add(new RowError(row, title, message));
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.worknest.service;
+
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.event.TaskSnapshot;
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.model.User;
+import com.example.worknest.repository.TaskRepository;
+import com.example.worknest.repository.UserIdentity;
+import com.example.worknest.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk task import from a CSV or JSON upload.
+ *
+ * <p>The upload is streamed in chunks of {@code worknest.import.batch-size} rows. The assignee
+ * usernames of a chunk not seen before are resolved with one (id, username) query, the chunk's
+ * valid rows are inserted in one transaction, and each committed batch gets one summary activity
+ * entry. Rows that fail validation, or belong to a batch that fails to commit, are reported back
+ * without stopping the rest of the import.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+
+    private static final int TITLE_MAX_LENGTH = 255;         // tasks.title
+    private static final int DESCRIPTION_MAX_LENGTH = 2000;  // tasks.description
+
+    private final TaskRepository taskRepo;
+    private final UserRepository userRepo;
+    private final TaskActivityService activityService;
+    private final ApplicationEventPublisher events;
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public TaskImportService(TaskRepository taskRepo,
+                             UserRepository userRepo,
+                             TaskActivityService activityService,
+                             ApplicationEventPublisher events,
+                             EntityManager em,
+                             ObjectMapper mapper,
+                             PlatformTransactionManager txManager,
+                             @Value("${worknest.import.batch-size:500}") int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("worknest.import.batch-size must be positive");
+        this.taskRepo = taskRepo;
+        this.userRepo = userRepo;
+        this.activityService = activityService;
+        this.events = events;
+        this.em = em;
+        this.mapper = mapper;
+        this.tx = new TransactionTemplate(txManager);
+        this.batchSize = batchSize;
+    }
+
+    /** A row that passed validation, waiting for its batch */
+    private record ValidRow(int number, String title, String description, Set<Long> assigneeIds,
+                            LocalDate startDate, LocalDate dueDate) {
+    }
+
+    /**
+     * Import every row of the upload.
+     * @throws IllegalArgumentException if the file type or header is not recognised
+     * @throws IOException if the upload cannot be opened
+     */
+    public TaskImportReport importTasks(String fileName, String contentType, InputStream in) throws IOException {
+        TaskImportReport report = new TaskImportReport(fileName);
+
+        try (TaskImportReader reader = TaskImportReader.open(fileName, contentType, in, mapper)) {
+            Map<String, Long> userIds = new HashMap<>(); // null value: no such user
+            List<TaskImportReader.Row> chunk = new ArrayList<>(batchSize);
+            while (true) {
+                TaskImportReader.Row row;
+                try {
+                    row = reader.next();
+                } catch (IOException e) {
+                    // malformed input part-way through: keep what was read so far and report where it stopped
+                    report.stop("Stopped reading after row " + report.getRowsRead() + ": " + e.getMessage());
+                    break;
+                }
+                if (row == null) break;
+
+                report.rowRead();
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, userIds, report);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, userIds, report);
+        }
+
+        log.info("Imported {} of {} tasks from {} in {} batches",
+                report.getImported(), report.getRowsRead(), fileName, report.getBatches());
+        return report;
+    }
+
+    private void importChunk(List<TaskImportReader.Row> chunk, Map<String, Long> userIds, TaskImportReport report) {
+        Set<String> lookup = new HashSet<>();
+        for (TaskImportReader.Row row : chunk) {
+            for (String username : row.assignees()) {
+                if (!userIds.containsKey(username)) lookup.add(username);
+            }
+        }
+        if (!lookup.isEmpty()) {
+            lookup.forEach(username -> userIds.put(username, null));
+            for (UserIdentity u : userRepo.findIdentities(lookup)) {
+                userIds.put(u.getUsername(), u.getId());
+            }
+        }
+
+        List<ValidRow> batch = new ArrayList<>(chunk.size());
+        for (TaskImportReader.Row row : chunk) {
+            try {
+                batch.add(validate(row, userIds));
+            } catch (IllegalArgumentException e) {
+                report.reject(row.number(), row.title(), e.getMessage());
+            }
+        }
+        insertBatch(batch, report);
+    }
+
+    private ValidRow validate(TaskImportReader.Row row, Map<String, Long> userIds) {
+        if (row.error() != null) throw new IllegalArgumentException(row.error());
+
+        LocalDate startDate = parseDate(row.startDate(), "start date");
+        LocalDate dueDate = parseDate(row.dueDate(), "due date");
+        TaskService.checkFields(row.title(), startDate, dueDate);
+        // catch what the columns would reject here, so one long value cannot fail a whole batch
+        if (row.title().trim().length() > TITLE_MAX_LENGTH) {
+            throw new IllegalArgumentException("Title is longer than " + TITLE_MAX_LENGTH + " characters");
+        }
+        if (row.description() != null && row.description().length() > DESCRIPTION_MAX_LENGTH) {
+            throw new IllegalArgumentException("Description is longer than " + DESCRIPTION_MAX_LENGTH + " characters");
+        }
+
+        if (row.assignees().isEmpty()) throw new IllegalArgumentException("At least one assignee is required");
+        Set<Long> assigneeIds = new LinkedHashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String username : row.assignees()) {
+            Long id = userIds.get(username);
+            if (id != null) assigneeIds.add(id);
+            else unknown.add(username);
+        }
+        if (!unknown.isEmpty()) throw new IllegalArgumentException("Unknown assignees: " + String.join(", ", unknown));
+
+        String description = row.description() == null || row.description().isBlank() ? null : row.description();
+        return new ValidRow(row.number(), row.title().trim(), description, assigneeIds, startDate, dueDate);
+    }
+
+    private static LocalDate parseDate(String value, String field) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + " '" + value + "', expected yyyy-MM-dd");
+        }
+    }
+
+    private void insertBatch(List<ValidRow> batch, TaskImportReport report) {
+        if (batch.isEmpty()) return;
+
+        int batchNo = report.getBatches() + 1;
+        try {
+            tx.executeWithoutResult(status -> {
+                List<Task> saved = new ArrayList<>(batch.size());
+                LocalDate today = LocalDate.now();
+                for (ValidRow r : batch) {
+                    Set<User> assignees = new HashSet<>();
+                    r.assigneeIds().forEach(id -> assignees.add(userRepo.getReferenceById(id)));
+
+                    saved.add(taskRepo.save(Task.builder()
+                            .title(r.title())
+                            .description(r.description())
+                            .startDate(r.startDate())
+                            .dueDate(r.dueDate())
+                            .status(TaskStatus.PENDING)
+                            .overdue(TaskStatus.PENDING.isOverdue(r.dueDate(), today))
+                            .assignees(assignees)
+                            .frozen(false)
+                            .build()));
+                }
+                taskRepo.flush();
+
+                for (Task t : saved) {
+                    events.publishEvent(new TaskChangedEvent(t.getId(), null, TaskSnapshot.of(t)));
+                }
+                activityService.logSystem(saved.get(0), "Bulk Import",
+                        "Batch " + batchNo + " of " + report.getFileName() + ": imported " + saved.size()
+                                + " tasks (#" + saved.get(0).getId() + " to #" + saved.get(saved.size() - 1).getId() + ")");
+
+                em.clear(); // keep the persistence context from growing across batches
+            });
+            report.batchImported(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Import batch {} of {} failed", batchNo, report.getFileName(), e);
+            String reason = "Batch " + batchNo + " failed: " + rootMessage(e);
+            batch.forEach(r -> report.reject(r.number(), r.title(), reason));
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable t = e;
+        while (t.getCause() != null && t.getCause() != t) t = t.getCause();
+        return t.getMessage() != null ? t.getMessage() : t.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.worknest.service;
+
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.event.TaskSnapshot;
+import com.example.worknest.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory user → task id index over {@code task_assignees}.
+ *
+ * <p>Each user's task ids are kept in a compressed bitmap; task ids come from one sequence, so
+ * they are dense and a membership costs a few bytes. The index is loaded with one scan of the
+ * join table at startup and then updated from {@link TaskChangedEvent}s after each commit, so
+ * assignee checks never hit the database. While a (re)load is running, lookups fall back to
+ * queries and events are queued for replay.
+ */
+@Slf4j
+@Service
+public class TaskMembershipIndex {
+
+    private static final int MAP_ENTRY_OVERHEAD = 64; // HashMap node + boxed key + bitmap header, roughly
+
+    private final JdbcTemplate jdbc;
+    private final TaskRepository taskRepo;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // guarded by lock
+    private final Map<Long, Roaring64Bitmap> byUser = new HashMap<>();
+    private List<TaskChangedEvent> pending = new ArrayList<>(); // null once loaded
+
+    public TaskMembershipIndex(JdbcTemplate jdbc, TaskRepository taskRepo, MeterRegistry meters) {
+        this.jdbc = jdbc;
+        this.taskRepo = taskRepo;
+
+        Gauge.builder("worknest.membership.bytes", this, TaskMembershipIndex::footprintBytes)
+                .description("Approximate heap used by the user/task membership index")
+                .baseUnit("bytes")
+                .register(meters);
+        Gauge.builder("worknest.membership.entries", this, TaskMembershipIndex::size)
+                .description("Task assignments held in the membership index")
+                .register(meters);
+    }
+
+    /** Whether the user is an assignee of the task */
+    public boolean isAssigned(Long userId, Long taskId) {
+        if (userId == null || taskId == null) return false;
+
+        lock.readLock().lock();
+        try {
+            if (pending == null) {
+                Roaring64Bitmap tasks = byUser.get(userId);
+                return tasks != null && tasks.contains(taskId);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return taskRepo.existsByIdAndAssignees_Id(taskId, userId);
+    }
+
+    /** Ids of the tasks assigned to the user, in ascending order */
+    public long[] taskIdsOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            if (pending == null) {
+                Roaring64Bitmap tasks = byUser.get(userId);
+                return tasks != null ? tasks.toArray() : new long[0];
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return taskRepo.findByAssignees_Id(userId).stream().mapToLong(t -> t.getId()).sorted().toArray();
+    }
+
+    /** Number of (user, task) assignments held */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            long n = 0;
+            for (Roaring64Bitmap tasks : byUser.values()) n += tasks.getLongCardinality();
+            return n;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Approximate heap footprint of the index in bytes */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Roaring64Bitmap tasks : byUser.values()) bytes += tasks.getLongSizeInBytes() + MAP_ENTRY_OVERHEAD;
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Order(DataVersion.BEFORE_ADVANCE)
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event); // replayed once the initial load is in
+                return;
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        load();
+    }
+
+    /**
+     * (Re)build the index from the join table. Also runs periodically, which corrects the rare
+     * case of two commits on the same task delivering their events out of order.
+     */
+    @Scheduled(initialDelayString = "${worknest.membership.reload-interval:PT30M}",
+               fixedDelayString = "${worknest.membership.reload-interval:PT30M}")
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            if (pending == null) pending = new ArrayList<>(); // queue changes and answer from the DB meanwhile
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        Map<Long, Roaring64Bitmap> loaded = new HashMap<>();
+        jdbc.query("select user_id, task_id from task_assignees", rs -> {
+            loaded.computeIfAbsent(rs.getLong(1), id -> new Roaring64Bitmap()).addLong(rs.getLong(2));
+        });
+        loaded.values().forEach(Roaring64Bitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            byUser.clear();
+            byUser.putAll(loaded);
+            // changes committed while we were scanning; applying them again is harmless
+            if (pending != null) pending.forEach(this::apply);
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Membership index loaded: {} assignments for {} users, ~{} KiB in {} ms",
+                size(), loaded.size(), footprintBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void apply(TaskChangedEvent event) {
+        long taskId = event.taskId();
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+
+        if (before != null) {
+            for (Long userId : before.assigneeIds()) {
+                if (after != null && after.assigneeIds().contains(userId)) continue;
+                Roaring64Bitmap tasks = byUser.get(userId);
+                if (tasks != null) {
+                    tasks.removeLong(taskId);
+                    if (tasks.isEmpty()) byUser.remove(userId);
+                }
+            }
+        }
+        if (after != null) {
+            for (Long userId : after.assigneeIds()) {
+                byUser.computeIfAbsent(userId, id -> new Roaring64Bitmap()).addLong(taskId);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.worknest.service;
+
+import com.example.worknest.model.Task;
+
+import java.util.List;
+
+/**
+ * One keyset page of tasks, with assignees already initialized.
+ *
+ * @param tasks      the rows of this page, in list order
+ * @param nextCursor encoded cursor for the following page, or null on the last page
+ */
+public record TaskPage(List<Task> tasks, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -12,9 +12,11 @@ import com.example.worknest.repository.TaskReassignmentRepository;
 import com.example.worknest.repository.TaskRepository;
 import com.example.worknest.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Timed("worknest.service")
 @RequiredArgsConstructor
 public class TaskReassignmentService {
 
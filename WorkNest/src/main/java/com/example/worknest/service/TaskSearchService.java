@@ -0,0 +1,144 @@
+package com.example.worknest.service;
+
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.event.TaskCommentAddedEvent;
+import com.example.worknest.search.SearchResults;
+import com.example.worknest.search.TaskSearchIndex;
+import com.example.worknest.security.WorkNestUserDetails;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Full-text task search backed by an in-process {@link TaskSearchIndex}.
+ *
+ * <p>The index is built from two table scans when the application is ready and then updated
+ * from {@link TaskChangedEvent} (new tasks, soft delete/restore, archiving) and
+ * {@link TaskCommentAddedEvent} after each commit. Archived tasks leave the index. Events that
+ * arrive while a load is running are replayed onto the new index, skipping the comments the load
+ * already read.
+ * USER-role callers only see tasks they are assigned to, checked against
+ * {@link TaskMembershipIndex}.
+ */
+@Slf4j
+@Service
+public class TaskSearchService {
+
+    private final JdbcTemplate jdbc;
+    private final TaskMembershipIndex membership;
+    private final Timer queryTimer;
+
+    private volatile TaskSearchIndex index = new TaskSearchIndex();
+    private List<Object> pending; // guarded by "this"; non-null while a load is running
+
+    public TaskSearchService(JdbcTemplate jdbc, TaskMembershipIndex membership, MeterRegistry meters) {
+        this.jdbc = jdbc;
+        this.membership = membership;
+
+        Gauge.builder("worknest.search.bytes", this, s -> s.index.footprintBytes())
+                .description("Approximate heap used by the search index")
+                .baseUnit("bytes")
+                .register(meters);
+        Gauge.builder("worknest.search.documents", this, s -> s.index.documentCount())
+                .description("Tasks in the search index")
+                .register(meters);
+        this.queryTimer = Timer.builder("worknest.search.query")
+                .description("Search query latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meters);
+    }
+
+    /** One page (0-based) of ranked results the caller is allowed to see */
+    public SearchResults search(String query, WorkNestUserDetails caller, int page, int size) {
+        if (page < 0 || size < 1) throw new IllegalArgumentException("Invalid page");
+
+        LongPredicate visible;
+        if (caller.isAdmin()) {
+            visible = taskId -> true;
+        } else {
+            // one lookup per search rather than one per hit; the ids come sorted
+            long[] own = membership.taskIdsOf(caller.getId());
+            visible = taskId -> Arrays.binarySearch(own, taskId) >= 0;
+        }
+        return queryTimer.record(() -> index.search(query, visible, (long) page * size, size));
+    }
+
+    @Order(DataVersion.BEFORE_ADVANCE)
+    @TransactionalEventListener
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        if (pending != null) pending.add(event);
+        apply(index, event);
+    }
+
+    @Order(DataVersion.BEFORE_ADVANCE)
+    @TransactionalEventListener
+    public synchronized void onCommentAdded(TaskCommentAddedEvent event) {
+        if (pending != null) pending.add(event);
+        apply(index, event);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+
+        long started = System.nanoTime();
+        TaskSearchIndex fresh = new TaskSearchIndex();
+        jdbc.query("select id, title, description, deleted from tasks order by id", rs -> {
+            fresh.addTask(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getBoolean(4));
+        });
+        Roaring64Bitmap loadedComments = new Roaring64Bitmap();
+        jdbc.query("select task_id, id, content from task_comments order by task_id", rs -> {
+            loadedComments.addLong(rs.getLong(2));
+            fresh.addComment(rs.getLong(1), rs.getString(3));
+        });
+
+        synchronized (this) {
+            // tasks added twice are ignored by the index, comments are skipped here unless their
+            // task was archived (and so emptied) during the replay
+            Set<Long> archived = new HashSet<>();
+            for (Object event : pending) {
+                if (event instanceof TaskChangedEvent e && e.after() == null) archived.add(e.taskId());
+                if (event instanceof TaskCommentAddedEvent e && loadedComments.contains(e.commentId())
+                        && !archived.contains(e.taskId())) continue;
+                apply(fresh, event);
+            }
+            pending = null;
+            index = fresh;
+        }
+        log.info("Search index loaded: {} tasks, {} terms, ~{} MiB in {} ms",
+                fresh.documentCount(), fresh.termCount(), fresh.footprintBytes() >> 20,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static void apply(TaskSearchIndex target, Object event) {
+        if (event instanceof TaskChangedEvent e) {
+            if (e.after() == null) {
+                target.removeTask(e.taskId());
+            } else if (e.isCreated()) {
+                target.addTask(e.taskId(), e.after().title(), e.after().description(), e.after().deleted());
+                target.setDeleted(e.taskId(), e.after().deleted()); // replayed over a load that has it already
+            } else if (e.before().deleted() != e.after().deleted()) {
+                target.setDeleted(e.taskId(), e.after().deleted());
+            }
+        } else if (event instanceof TaskCommentAddedEvent e) {
+            target.addComment(e.taskId(), e.content());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.worknest.service;
+
+import com.example.worknest.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Which active tasks a bulk operation applies to: an explicit id list, or every task matching
+ * a status and/or due-before filter. An empty selection is rejected rather than meaning "all".
+ */
+public record TaskSelection(List<Long> ids, TaskStatus status, LocalDate dueBefore) {
+
+    public static TaskSelection of(List<Long> ids) {
+        return new TaskSelection(ids, null, null);
+    }
+
+    public static TaskSelection matching(TaskStatus status, LocalDate dueBefore) {
+        return new TaskSelection(null, status, dueBefore);
+    }
+
+    public boolean byIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return !byIds() && status == null && dueBefore == null;
+    }
+}
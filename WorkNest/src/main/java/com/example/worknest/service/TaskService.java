@@ -1,35 +1,68 @@
 
 package com.example.worknest.service;
 
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.event.TaskCommentAddedEvent;
+import com.example.worknest.event.TaskSnapshot;
 import com.example.worknest.model.Task;
 import com.example.worknest.model.TaskStatus;
 import com.example.worknest.model.User;
 import com.example.worknest.repository.TaskRepository;
 import com.example.worknest.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static com.example.worknest.repository.TaskSpecifications.after;
+import static com.example.worknest.repository.TaskSpecifications.afterActivity;
+import static com.example.worknest.repository.TaskSpecifications.assignedTo;
+import static com.example.worknest.repository.TaskSpecifications.hasStatus;
+import static com.example.worknest.repository.TaskSpecifications.notDeleted;
+import static com.example.worknest.repository.TaskSpecifications.overdue;
+import static com.example.worknest.repository.TaskSpecifications.titleContains;
 
 @Service
+@Timed("worknest.service")
 @Transactional
 @RequiredArgsConstructor
 public class TaskService {
 
+    // tasks a bulk operation locks, snapshots and updates at a time
+    private static final int BULK_BATCH_SIZE = 500;
+
     private final TaskRepository taskRepo;
     private final UserRepository userRepo;
+    private final ApplicationEventPublisher events;
+    private final TaskMembershipIndex membership;
+    private final TaskArchiveService archive;
+    private final EntityManager em;
 
     //  Create task with multiple assignees
     public Task create(String title, String description, List<Long> assigneeIds,
                        LocalDate startDate, LocalDate dueDate) {
 
-        if (title == null || title.isBlank()) throw new IllegalArgumentException("Title is required");
-        if (startDate == null || dueDate == null) throw new IllegalArgumentException("Dates are required");
-        if (dueDate.isBefore(startDate)) throw new IllegalArgumentException("Due date cannot be before start date");
+        checkFields(title, startDate, dueDate);
         if (assigneeIds == null || assigneeIds.isEmpty()) throw new IllegalArgumentException("At least one assignee is required");
 
         Set<User> assignees = new HashSet<>(userRepo.findAllById(assigneeIds));
@@ -41,24 +74,52 @@ public class TaskService {
                 .startDate(startDate)
                 .dueDate(dueDate)
                 .status(TaskStatus.PENDING)
+                .overdue(TaskStatus.PENDING.isOverdue(dueDate, LocalDate.now()))
                 .assignees(assignees)
                 .frozen(false)  // 👈 default not frozen
                 .build();
 
-        return taskRepo.save(task);
+        Task saved = taskRepo.save(task);
+        events.publishEvent(new TaskChangedEvent(saved.getId(), null, TaskSnapshot.of(saved)));
+        return saved;
+    }
+
+    /** Field checks shared by single create and bulk import */
+    static void checkFields(String title, LocalDate startDate, LocalDate dueDate) {
+        if (title == null || title.isBlank()) throw new IllegalArgumentException("Title is required");
+        if (startDate == null || dueDate == null) throw new IllegalArgumentException("Dates are required");
+        if (dueDate.isBefore(startDate)) throw new IllegalArgumentException("Due date cannot be before start date");
     }
 
     //  Update task status (only if not frozen)
     public Task updateStatus(Long taskId, TaskStatus status) {
-        Task t = taskRepo.findById(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        return applyStatus(taskRepo.findById(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found")), status);
+    }
+
+    /**
+     * Same, but only while the task is still at {@code expectedVersion}. The row is locked before the
+     * version is compared, so no other write can land between the check and the update.
+     * @throws TaskVersionConflictException when the task has changed since
+     */
+    public Task updateStatus(Long taskId, TaskStatus status, long expectedVersion) {
+        Task t = taskRepo.lockById(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        if (t.getVersion() == null || t.getVersion() != expectedVersion) throw new TaskVersionConflictException(taskId);
+        return applyStatus(t, status);
+    }
 
+    private Task applyStatus(Task t, TaskStatus status) {
+        Long taskId = t.getId();
         if (t.isFrozen()) {
             throw new IllegalStateException("Task is frozen. Status cannot be updated.");
         }
 
-        if (status != null) {
+        if (status != null && status != t.getStatus()) {
+            TaskSnapshot before = TaskSnapshot.of(t);
             t.setStatus(status);
+            t.setOverdue(status.isOverdue(t.getDueDate(), LocalDate.now()));
+            t.setCompletedAt(status == TaskStatus.COMPLETED ? LocalDateTime.now() : null);
             taskRepo.save(t);
+            events.publishEvent(new TaskChangedEvent(taskId, before, TaskSnapshot.of(t)));
         }
         return t;
     }
@@ -76,8 +137,11 @@ public class TaskService {
             throw new IllegalArgumentException("No valid users found for assignment");
         }
 
+        TaskSnapshot before = TaskSnapshot.of(t);
         t.setAssignees(newAssignees);
-        return taskRepo.save(t);
+        Task saved = taskRepo.save(t);
+        events.publishEvent(new TaskChangedEvent(taskId, before, TaskSnapshot.of(saved)));
+        return saved;
     }
 
     //  Delete task
@@ -85,37 +149,249 @@ public class TaskService {
 //        taskRepo.deleteById(taskId);
 //    }
 
-    //  Find by ID
+    //  Find by ID (with assignees: detail pages show them, change events snapshot them)
     public Task getById(Long taskId) {
-        return taskRepo.findById(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        return taskRepo.findWithAssigneesById(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
     }
  // Soft delete instead of real delete
     public void delete(Long taskId) {
         Task task = getById(taskId);
+        if (task.isDeleted()) return;
+
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setDeleted(true);
+        task.setDeletedAt(LocalDateTime.now());
         taskRepo.save(task);
+        events.publishEvent(new TaskChangedEvent(taskId, before, TaskSnapshot.of(task)));
     }
 
-    // Restore task
-    public void restore(Long taskId) {
+    /**
+     * Restore a soft-deleted task. An archived task (deleted or completed) is first moved back
+     * from the archive; it then counts as completed now, so it gets a full period before the
+     * archiver takes it again.
+     * @return whether the task came back from the archive
+     */
+    public boolean restore(Long taskId) {
+        if (archive.lockArchived(taskId)) {
+            List<TaskCommentAddedEvent> comments = archive.unarchive(taskId);
+            Task task = getById(taskId);
+            task.setDeleted(false);
+            task.setDeletedAt(null);
+            if (task.getCompletedAt() != null) task.setCompletedAt(LocalDateTime.now());
+            // the due-date sweep skipped it while archived
+            task.setOverdue(task.getStatus().isOverdue(task.getDueDate(), LocalDate.now()));
+            clearReminders(task);
+            taskRepo.save(task);
+            // to the in-memory views it is a new task
+            events.publishEvent(new TaskChangedEvent(taskId, null, TaskSnapshot.of(task)));
+            comments.forEach(events::publishEvent);
+            return true;
+        }
+
         Task task = getById(taskId);
+        if (!task.isDeleted()) return false;
+
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setDeleted(false);
+        task.setDeletedAt(null);
+        clearReminders(task);
         taskRepo.save(task);
+        events.publishEvent(new TaskChangedEvent(taskId, before, TaskSnapshot.of(task)));
+        return false;
+    }
+
+    // the reminder windows still ahead fire again for a task that was away (deleted, archived);
+    // anything that moves a due date has to do the same
+    private void clearReminders(Task task) {
+        if (task.getReminderDays() == null) return;
+        taskRepo.clearReminders(task.getId());
+        task.setReminderDays(null);
     }
 
     // Only return active tasks
     public List<Task> findAll() {
-        return taskRepo.findAll().stream()
-                .filter(t -> !t.isDeleted())
-                .toList();
+        return taskRepo.findByDeletedFalse();
+    }
+
+    /**
+     * One page of active tasks ordered by (dueDate, id), starting after {@code cursor}.
+     * Filtering, ordering and the page limit all run in SQL; assignees for the page are
+     * fetched with a single extra query.
+     */
+    public TaskPage findPage(TaskFilter filter, TaskCursor cursor, int size) {
+        if (size < 1) throw new IllegalArgumentException("Page size must be positive");
+        boolean byActivity = filter.sort() == TaskSort.RECENT_ACTIVITY;
+        if (cursor != null && !cursor.fits(filter.sort())) {
+            throw new IllegalArgumentException("Page cursor does not match the sort order");
+        }
+
+        Specification<Task> spec = notDeleted()
+                .and(filter.delayedOnly() ? overdue() : hasStatus(filter.status()))
+                .and(assignedTo(filter.assigneeId()))
+                .and(titleContains(filter.title()))
+                .and(cursor == null ? null : byActivity
+                        ? afterActivity(cursor.lastActivityAt(), cursor.id())
+                        : after(cursor.dueDate(), cursor.id(), filter.descending()));
+
+        Sort sort;
+        if (byActivity) {
+            // "deleted" is constant here, but H2 only reads idx_tasks_last_activity in order when
+            // the ORDER BY starts with the index's leading column
+            sort = Sort.by(Sort.Direction.ASC, "deleted")
+                    .and(Sort.by(Sort.Direction.DESC, "lastActivityAt"))
+                    .and(Sort.by(Sort.Direction.DESC, "id"));
+        } else {
+            Sort.Direction dir = filter.descending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+            sort = Sort.by(dir, "dueDate").and(Sort.by(dir, "id"));
+        }
+
+        // fetch one extra row to learn whether a next page exists
+        List<Task> rows = taskRepo.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        List<Task> tasks = hasNext ? rows.subList(0, size) : rows;
+
+        if (!tasks.isEmpty()) {
+            taskRepo.fetchAssignees(tasks.stream().map(Task::getId).toList());
+        }
+
+        String next = hasNext ? TaskCursor.of(tasks.get(tasks.size() - 1), filter.sort()).encode() : null;
+        return new TaskPage(List.copyOf(tasks), next);
     }
 
 
     //  Freeze/unfreeze task
     public Task toggleFreeze(Long taskId) {
         Task t = getById(taskId);
+        TaskSnapshot before = TaskSnapshot.of(t);
         t.setFrozen(!t.isFrozen());
-        return taskRepo.save(t);
+        Task saved = taskRepo.save(t);
+        events.publishEvent(new TaskChangedEvent(taskId, before, TaskSnapshot.of(saved)));
+        return saved;
+    }
+
+    /** Tasks by id, in the order given; unknown ids are skipped */
+    public List<Task> getByIds(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Task> byId = new HashMap<>();
+        taskRepo.findAllById(ids).forEach(t -> byId.put(t.getId(), t));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    //  Bulk operations. Each works through its targets in id order, BULK_BATCH_SIZE at a time:
+    //  locks and snapshots a batch, changes it with one set-based statement and publishes the
+    //  usual per-task events, so neither the loaded tasks nor the "id in" lists grow with the selection.
+
+    /** Set the status of every selected task that is not frozen */
+    public BulkResult bulkUpdateStatus(TaskSelection selection, TaskStatus status) {
+        if (status == null) throw new IllegalArgumentException("Status is required");
+
+        LocalDate today = LocalDate.now();
+        List<Long> changed = new ArrayList<>();
+        int matched = forEachTargetBatch(selection, targets -> {
+            List<Long> ids = targets.entrySet().stream()
+                    .filter(e -> !e.getValue().frozen() && e.getValue().status() != status)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (ids.isEmpty()) return;
+            checkUpdated(taskRepo.bulkUpdateStatus(ids, status, today), ids);
+            ids.forEach(id -> events.publishEvent(
+                    new TaskChangedEvent(id, targets.get(id), targets.get(id).withStatus(status, today))));
+            changed.addAll(ids);
+        });
+        return new BulkResult(matched, changed);
+    }
+
+    /** Freeze or unfreeze every selected task */
+    public BulkResult bulkSetFrozen(TaskSelection selection, boolean frozen) {
+        List<Long> changed = new ArrayList<>();
+        int matched = forEachTargetBatch(selection, targets -> {
+            List<Long> ids = targets.entrySet().stream()
+                    .filter(e -> e.getValue().frozen() != frozen)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (ids.isEmpty()) return;
+            checkUpdated(taskRepo.bulkSetFrozen(ids, frozen), ids);
+            ids.forEach(id -> events.publishEvent(
+                    new TaskChangedEvent(id, targets.get(id), targets.get(id).withFrozen(frozen))));
+            changed.addAll(ids);
+        });
+        return new BulkResult(matched, changed);
+    }
+
+    /** Replace the assignees of every selected task that is not frozen */
+    public BulkResult bulkAssign(TaskSelection selection, List<Long> assigneeIds) {
+        if (assigneeIds == null || assigneeIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one assignee is required");
+        }
+        Set<Long> userIds = new HashSet<>();
+        userRepo.findAllById(assigneeIds).forEach(u -> userIds.add(u.getId()));
+        if (userIds.isEmpty()) {
+            throw new IllegalArgumentException("No valid users found for assignment");
+        }
+
+        List<Long> changed = new ArrayList<>();
+        int matched = forEachTargetBatch(selection, targets -> {
+            List<Long> ids = targets.entrySet().stream()
+                    .filter(e -> !e.getValue().frozen() && !e.getValue().assigneeIds().equals(userIds))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (ids.isEmpty()) return;
+            taskRepo.bulkClearAssignees(ids);
+            taskRepo.bulkAddAssignees(ids, userIds);
+            taskRepo.bumpVersions(ids);
+            ids.forEach(id -> events.publishEvent(
+                    new TaskChangedEvent(id, targets.get(id), targets.get(id).withAssigneeIds(userIds))));
+            changed.addAll(ids);
+        });
+        return new BulkResult(matched, changed);
+    }
+
+    /**
+     * Lock the selected active tasks in id order, a batch at a time, and hand each batch to
+     * {@code change} as snapshots (with assignees) by id. Returns how many tasks were selected.
+     */
+    private int forEachTargetBatch(TaskSelection selection, Consumer<Map<Long, TaskSnapshot>> change) {
+        if (selection == null || selection.isEmpty()) {
+            throw new IllegalArgumentException("Select at least one task or a filter");
+        }
+        int matched = 0;
+        if (selection.byIds()) {
+            List<Long> ids = selection.ids().stream().filter(Objects::nonNull).distinct().sorted().toList();
+            for (int from = 0; from < ids.size(); from += BULK_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + BULK_BATCH_SIZE, ids.size()));
+                matched += changeBatch(taskRepo.lockActiveByIds(batch), change);
+            }
+            return matched;
+        }
+
+        long afterId = 0;
+        List<Task> tasks;
+        do {
+            tasks = taskRepo.lockActiveMatching(selection.status(), selection.dueBefore(), afterId,
+                    Limit.of(BULK_BATCH_SIZE));
+            if (!tasks.isEmpty()) afterId = tasks.get(tasks.size() - 1).getId();
+            matched += changeBatch(tasks, change);
+        } while (tasks.size() == BULK_BATCH_SIZE);
+        return matched;
+    }
+
+    private int changeBatch(List<Task> tasks, Consumer<Map<Long, TaskSnapshot>> change) {
+        if (tasks.isEmpty()) return 0;
+
+        taskRepo.fetchAssignees(tasks.stream().map(Task::getId).toList());
+        Map<Long, TaskSnapshot> snapshots = new TreeMap<>();
+        tasks.forEach(t -> snapshots.put(t.getId(), TaskSnapshot.of(t)));
+        change.accept(snapshots);
+        em.clear(); // the batch stays locked, but its entities need not stay loaded
+        return snapshots.size();
+    }
+
+    private static void checkUpdated(int rows, List<Long> expected) {
+        // the rows are locked, so anything else means the in-memory filter and the UPDATE disagree
+        if (rows != expected.size()) {
+            throw new IllegalStateException("Bulk update changed " + rows + " of " + expected.size()
+                    + " tasks and was rolled back; try again");
+        }
     }
 
     //  Save task (generic)
@@ -125,15 +401,31 @@ public class TaskService {
 
     //  Queries
     public List<Task> findByAssignee(Long userId) {
-        return taskRepo.findByAssignees_Id(userId);
+        // ids come from the in-memory index, so the join table is not scanned on every dashboard view
+        long[] ids = membership.taskIdsOf(userId);
+        if (ids.length == 0) return List.of();
+        List<Task> tasks = new ArrayList<>(taskRepo.findAllById(Arrays.stream(ids).boxed().toList()));
+        tasks.sort(Comparator.comparing(Task::getId));
+        return tasks;
+    }
+
+    /** Current version of a task, read without loading it; empty if there is no such task */
+    public Optional<Long> findVersion(Long taskId) {
+        return taskRepo.findVersionById(taskId);
+    }
+
+    /** O(1) in-memory check, no database access */
+    public boolean isAssignee(Long taskId, Long userId) {
+        return membership.isAssigned(userId, taskId);
     }
 
     public List<Task> findByStatus(TaskStatus status) {
         return taskRepo.findByStatus(status);
     }
 
-    public List<Task> findDelayed(LocalDate refDate) {
-        return taskRepo.findByDueDateBeforeAndStatusNot(refDate, TaskStatus.COMPLETED);
+    /** Active tasks flagged overdue */
+    public List<Task> findDelayed() {
+        return taskRepo.findByOverdueTrueAndDeletedFalse();
     }
 
 //    public List<Task> findAll() {
@@ -144,7 +436,7 @@ public class TaskService {
         return taskRepo.countByStatus(status);
     }
 
-    public long countDelayed(LocalDate refDate) {
-        return taskRepo.countByDueDateBeforeAndStatusNot(refDate, TaskStatus.COMPLETED);
+    public long countDelayed() {
+        return taskRepo.countByOverdueTrueAndDeletedFalse();
     }
 }
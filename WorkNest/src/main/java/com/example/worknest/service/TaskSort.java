@@ -0,0 +1,13 @@
+package com.example.worknest.service;
+
+/**
+ * Orders of the task list; each one is a keyset order ending in the task id.
+ */
+public enum TaskSort {
+
+    /** (dueDate, id), ascending or descending */
+    DUE_DATE,
+
+    /** (lastActivityAt, id), newest first only: that is the direction idx_tasks_last_activity is in */
+    RECENT_ACTIVITY
+}
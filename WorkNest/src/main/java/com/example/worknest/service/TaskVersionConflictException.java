@@ -0,0 +1,12 @@
+package com.example.worknest.service;
+
+/**
+ * A conditional change was made against a version of the task that is no longer current
+ * (the API's If-Match); nothing was changed.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    public TaskVersionConflictException(Long taskId) {
+        super("Task " + taskId + " has changed");
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.worknest.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in a task timeline (comments or activity), newest first: the (createdAt, id)
+ * of the last entry shown. Encoded in URLs as {@code 2025-01-31T09:15:30.123_42}.
+ */
+public record TimelineCursor(LocalDateTime createdAt, long id) {
+
+    private static final char SEPARATOR = '_';
+
+    /** Parse an encoded cursor; blank means "newest page" and returns null */
+    public static TimelineCursor decode(String value) {
+        if (value == null || value.isBlank()) return null;
+
+        int sep = value.lastIndexOf(SEPARATOR);
+        if (sep <= 0 || sep == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid timeline cursor: " + value);
+        }
+        try {
+            return new TimelineCursor(LocalDateTime.parse(value.substring(0, sep)),
+                    Long.parseLong(value.substring(sep + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        return createdAt.toString() + SEPARATOR + id;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.worknest.service;
+
+import java.util.List;
+
+/**
+ * One page of a task timeline, newest first.
+ *
+ * @param items      the entries of this page
+ * @param nextCursor encoded cursor for the next (older) page, or null on the last page
+ */
+public record TimelinePage<T>(List<T> items, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.worknest.service;
 
+import com.example.worknest.event.UserChangedEvent;
 import com.example.worknest.model.User;
 import com.example.worknest.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -10,11 +15,15 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("worknest.service")
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final String USER_CACHE = "users";
+
     private final UserRepository repo;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher events;
 
     public List<User> findAll() {
         return repo.findAll();
@@ -25,7 +34,14 @@ public class UserService {
         return repo.findByUsername(username);
     }
 
+    /** Full user by id, served from the bounded "users" cache */
+    @Cacheable(cacheNames = USER_CACHE, key = "#id")
+    public User getById(Long id) {
+        return repo.findById(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
+
     /**  Create a user safely (prevents duplicate usernames) */
+    @CacheEvict(cacheNames = USER_CACHE, allEntries = true)
     public void create(String username, String password, String role) {
         // 🔎 Check if username already exists
         if (repo.findByUsername(username).isPresent()) {
@@ -36,11 +52,14 @@ public class UserService {
         user.setUsername(username);
         user.setPassword(passwordEncoder.encode(password)); // encode password securely
         user.setRole(role.toUpperCase()); // normalize role (e.g., "ADMIN", "USER")
-        repo.save(user);
+        User saved = repo.save(user);
+        events.publishEvent(new UserChangedEvent(saved.getId()));
     }
 
+    @CacheEvict(cacheNames = USER_CACHE, key = "#id")
     public void delete(Long id) {
         repo.deleteById(id);
+        events.publishEvent(new UserChangedEvent(id));
     }
 
     public List<User> findAllById(Iterable<Long> ids) {
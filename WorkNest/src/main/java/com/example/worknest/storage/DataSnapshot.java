@@ -0,0 +1,406 @@
+package com.example.worknest.storage;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Dumps all application data to a compact binary stream and loads it back into an empty database.
+ *
+ * <p>The stream is deflated and holds one section per table, parents first: the column names,
+ * then each row as variable-length numbers and length-prefixed UTF-8, then the row count as a
+ * check. A dump reads every table in one H2 SNAPSHOT transaction, so it is consistent while the
+ * application keeps writing. A restore inserts in JDBC batches within one transaction, so it
+ * either loads the whole snapshot or leaves the database empty, and finally moves the id
+ * sequences past the restored ids. Sections and columns are restored by name, so a snapshot
+ * taken before a table or column was added still loads; columns it lacks are filled in the way
+ * the migration that added them filled existing rows.
+ */
+public class DataSnapshot {
+
+    private static final int MAGIC = 0x574E5350; // "WNSP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int TRANSACTION_SNAPSHOT = 6; // H2: one consistent view across tables
+    private static final int BATCH_SIZE = 1_000;
+    private static final int BUFFER = 1 << 16;
+
+    private enum Type { LONG, INT, BOOLEAN, STRING, DATE, TIMESTAMP }
+
+    private record Column(String name, Type type, boolean nullable) {
+    }
+
+    private record Table(String name, String sequence, List<Column> columns) {
+
+        String columnList() {
+            return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+        }
+    }
+
+    private static Column required(String name, Type type) {
+        return new Column(name, type, false);
+    }
+
+    private static Column optional(String name, Type type) {
+        return new Column(name, type, true);
+    }
+
+    // insert order: referenced tables first; the first column is the sort key of the dump
+    private static final List<Table> TABLES = List.of(
+            new Table("users", "users_seq", List.of(
+                    required("id", Type.LONG), required("username", Type.STRING),
+                    required("password", Type.STRING), required("role", Type.STRING))),
+            new Table("tasks", "tasks_seq", List.of(
+                    required("id", Type.LONG), required("title", Type.STRING),
+                    optional("description", Type.STRING), required("status", Type.STRING),
+                    required("start_date", Type.DATE), required("due_date", Type.DATE),
+                    required("frozen", Type.BOOLEAN), required("deleted", Type.BOOLEAN),
+                    required("overdue", Type.BOOLEAN), optional("reminder_days", Type.INT),
+                    optional("version", Type.LONG), optional("completed_at", Type.TIMESTAMP),
+                    optional("deleted_at", Type.TIMESTAMP), required("comment_count", Type.INT),
+                    required("activity_count", Type.INT), required("last_activity_at", Type.TIMESTAMP))),
+            new Table("task_assignees", null, List.of(
+                    required("task_id", Type.LONG), required("user_id", Type.LONG))),
+            new Table("task_comments", "task_comments_seq", List.of(
+                    required("id", Type.LONG), required("task_id", Type.LONG),
+                    required("author_id", Type.LONG), required("content", Type.STRING),
+                    required("created_at", Type.TIMESTAMP))),
+            new Table("task_activity", "task_activity_seq", List.of(
+                    required("id", Type.LONG), optional("task_id", Type.LONG),
+                    optional("performed_by_id", Type.LONG), optional("action", Type.STRING),
+                    optional("details", Type.STRING), optional("created_at", Type.TIMESTAMP))),
+            new Table("task_reassignment", "task_reassignment_seq", List.of(
+                    required("id", Type.LONG), optional("task_id", Type.LONG),
+                    optional("from_user_id", Type.LONG), optional("to_user_id", Type.LONG),
+                    optional("comment", Type.STRING), optional("reassigned_at", Type.TIMESTAMP))),
+            // the archive keeps the ids of the hot tables, so it has no sequences of its own
+            new Table("archived_tasks", null, List.of(
+                    required("id", Type.LONG), required("title", Type.STRING),
+                    optional("description", Type.STRING), required("status", Type.STRING),
+                    required("start_date", Type.DATE), required("due_date", Type.DATE),
+                    required("frozen", Type.BOOLEAN), required("deleted", Type.BOOLEAN),
+                    required("overdue", Type.BOOLEAN), optional("reminder_days", Type.INT),
+                    optional("version", Type.LONG), optional("completed_at", Type.TIMESTAMP),
+                    optional("deleted_at", Type.TIMESTAMP), required("comment_count", Type.INT),
+                    required("activity_count", Type.INT), required("last_activity_at", Type.TIMESTAMP),
+                    required("archived_at", Type.TIMESTAMP))),
+            new Table("archived_task_assignees", null, List.of(
+                    required("task_id", Type.LONG), required("user_id", Type.LONG))),
+            new Table("archived_task_comments", null, List.of(
+                    required("id", Type.LONG), required("task_id", Type.LONG),
+                    required("author_id", Type.LONG), required("content", Type.STRING),
+                    required("created_at", Type.TIMESTAMP))),
+            new Table("archived_task_activity", null, List.of(
+                    required("id", Type.LONG), optional("task_id", Type.LONG),
+                    optional("performed_by_id", Type.LONG), optional("action", Type.STRING),
+                    optional("details", Type.STRING), optional("created_at", Type.TIMESTAMP))),
+            new Table("archived_task_reassignment", null, List.of(
+                    required("id", Type.LONG), optional("task_id", Type.LONG),
+                    optional("from_user_id", Type.LONG), optional("to_user_id", Type.LONG),
+                    optional("comment", Type.STRING), optional("reassigned_at", Type.TIMESTAMP))));
+
+    // for snapshots older than a column: what its migration (V2, V3) did to the rows already
+    // there; the three counters came together, so last_activity_at stands for all of them
+    private static final Map<String, String> BACKFILLS = Map.of(
+            "tasks.completed_at", "update tasks set completed_at = localtimestamp where status = 'COMPLETED'",
+            "tasks.deleted_at", "update tasks set deleted_at = localtimestamp where deleted = true",
+            "tasks.last_activity_at", countersBackfill("tasks", "task_comments", "task_activity"),
+            "archived_tasks.last_activity_at",
+            countersBackfill("archived_tasks", "archived_task_comments", "archived_task_activity"));
+
+    private static String countersBackfill(String tasks, String comments, String activity) {
+        // unlike V3, the newest entry wins over the column default: here that is the restore time,
+        // not the time the row was last touched; greatest() is null as soon as one argument is
+        String newestComment = "(select max(c.created_at) from " + comments + " c where c.task_id = t.id)";
+        String newestActivity = "(select max(a.created_at) from " + activity + " a where a.task_id = t.id)";
+        return "update " + tasks + " t set " +
+                "comment_count = (select count(*) from " + comments + " c where c.task_id = t.id), " +
+                "activity_count = (select count(*) from " + activity + " a where a.task_id = t.id), " +
+                "last_activity_at = coalesce(greatest(coalesce(" + newestComment + ", " + newestActivity + "), " +
+                "coalesce(" + newestActivity + ", " + newestComment + ")), t.last_activity_at)";
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public DataSnapshot(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    /** Writes every table to {@code out} (left open); returns the row count per table */
+    public Map<String, Long> write(OutputStream out) {
+        return jdbc.execute((ConnectionCallback<Map<String, Long>>) con -> {
+            con.setAutoCommit(false);
+            con.setReadOnly(true);
+            con.setTransactionIsolation(TRANSACTION_SNAPSHOT);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater, BUFFER);
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(deflated, BUFFER));
+                data.writeInt(MAGIC);
+                data.writeInt(FORMAT_VERSION);
+                Map<String, Long> rows = new LinkedHashMap<>();
+                for (Table table : TABLES) {
+                    data.writeBoolean(true);
+                    rows.put(table.name(), writeTable(con, table, data));
+                }
+                data.writeBoolean(false);
+                data.flush();
+                deflated.finish();
+                con.commit();
+                return rows;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                deflater.end();
+            }
+        });
+    }
+
+    private static long writeTable(Connection con, Table table, DataOutputStream data) throws SQLException, IOException {
+        writeString(data, table.name());
+        writeVarLong(data, table.columns().size());
+        for (Column column : table.columns()) writeString(data, column.name());
+
+        long rows = 0;
+        try (PreparedStatement ps = con.prepareStatement("select " + table.columnList() + " from " + table.name() +
+                " order by " + table.columns().get(0).name())) {
+            ps.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    data.writeBoolean(true);
+                    for (int c = 0; c < table.columns().size(); c++) {
+                        writeValue(data, table.columns().get(c), rs, c + 1);
+                    }
+                    rows++;
+                }
+            }
+        }
+        data.writeBoolean(false);
+        writeVarLong(data, rows);
+        return rows;
+    }
+
+    /**
+     * Loads a snapshot written by {@link #write} into a database whose tables are empty and
+     * returns the row count per table. Nothing is restored into a database that has users or tasks.
+     * Everything is committed at the end, so a failed restore leaves the database empty.
+     */
+    public Map<String, Long> restore(InputStream in) {
+        return jdbc.execute((ConnectionCallback<Map<String, Long>>) con -> {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try {
+                if (!isEmpty(con)) {
+                    throw new IllegalStateException("The database already holds data; restore only into an empty one");
+                }
+                DataInputStream data = new DataInputStream(new BufferedInputStream(new InflaterInputStream(in), BUFFER));
+                if (data.readInt() != MAGIC) throw new IOException("Not a WorkNest snapshot");
+                int version = data.readInt();
+                if (version != FORMAT_VERSION) throw new IOException("Unsupported snapshot format " + version);
+
+                Map<String, Long> rows = new LinkedHashMap<>();
+                Set<String> missing = new HashSet<>();
+                while (data.readBoolean()) {
+                    String name = readString(data);
+                    Table table = TABLES.stream().filter(t -> t.name().equals(name)).findFirst()
+                            .orElseThrow(() -> new IOException("Snapshot has an unknown table " + name));
+                    rows.put(name, restoreTable(con, table, data, missing));
+                }
+                // after all sections: the counters are computed from the comment and activity rows
+                try (Statement st = con.createStatement()) {
+                    for (Map.Entry<String, String> backfill : BACKFILLS.entrySet()) {
+                        if (missing.contains(backfill.getKey())) st.executeUpdate(backfill.getValue());
+                    }
+                }
+                for (Table table : TABLES) {
+                    if (table.sequence() != null) restartSequence(con, table);
+                }
+                con.commit();
+                return rows;
+            } catch (IOException e) {
+                con.rollback();
+                throw new UncheckedIOException(e);
+            } catch (SQLException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    public boolean isEmpty() {
+        return Boolean.TRUE.equals(jdbc.execute((ConnectionCallback<Boolean>) DataSnapshot::isEmpty));
+    }
+
+    private static boolean isEmpty(Connection con) throws SQLException {
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("select (select count(*) from users) + (select count(*) from tasks)")) {
+            rs.next();
+            return rs.getLong(1) == 0;
+        }
+    }
+
+    /** @param missing collects "table.column" for every column the snapshot does not have */
+    private static long restoreTable(Connection con, Table table, DataInputStream data, Set<String> missing)
+            throws SQLException, IOException {
+        List<Column> columns = new ArrayList<>();
+        for (long c = readVarLong(data); c > 0; c--) {
+            String name = readString(data);
+            columns.add(table.columns().stream().filter(column -> column.name().equals(name)).findFirst()
+                    .orElseThrow(() -> new IOException("Snapshot has an unknown column " + table.name() + "." + name)));
+        }
+        for (Column column : table.columns()) {
+            if (!columns.contains(column)) missing.add(table.name() + "." + column.name());
+        }
+
+        String names = columns.stream().map(Column::name).collect(Collectors.joining(", "));
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        long rows = 0;
+        try (PreparedStatement ps = con.prepareStatement("insert into " + table.name() +
+                " (" + names + ") values (" + placeholders + ")")) {
+            while (data.readBoolean()) {
+                for (int c = 0; c < columns.size(); c++) {
+                    readValue(data, columns.get(c), ps, c + 1);
+                }
+                ps.addBatch();
+                rows++;
+                if (rows % BATCH_SIZE == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+        long expected = readVarLong(data);
+        if (rows != expected) {
+            throw new IOException("Snapshot section " + table.name() + " is truncated: " + rows + " of " + expected + " rows");
+        }
+        return rows;
+    }
+
+    /**
+     * Entities take ids from pooled-lo sequences, so the next value must be past every restored id,
+     * including those of archived rows, which get their ids back when they are restored.
+     */
+    private static void restartSequence(Connection con, Table table) throws SQLException {
+        String archive = "archived_" + table.name();
+        String maxId = TABLES.stream().anyMatch(t -> t.name().equals(archive))
+                ? "greatest((select coalesce(max(id), 0) from " + table.name() + "), "
+                        + "(select coalesce(max(id), 0) from " + archive + "))"
+                : "(select coalesce(max(id), 0) from " + table.name() + ")";
+        try (Statement st = con.createStatement()) {
+            long next;
+            try (ResultSet rs = st.executeQuery("select " + maxId + " + 1")) {
+                rs.next();
+                next = rs.getLong(1);
+            }
+            st.execute("alter sequence " + table.sequence() + " restart with " + next);
+        }
+    }
+
+    private static void writeValue(DataOutputStream data, Column column, ResultSet rs, int index)
+            throws SQLException, IOException {
+        Object value = switch (column.type()) {
+            case LONG -> rs.getLong(index);
+            case INT -> rs.getInt(index);
+            case BOOLEAN -> rs.getBoolean(index);
+            case STRING -> rs.getString(index);
+            case DATE -> rs.getObject(index, LocalDate.class);
+            case TIMESTAMP -> rs.getObject(index, LocalDateTime.class);
+        };
+        if (rs.wasNull()) value = null;
+        if (column.nullable()) {
+            data.writeBoolean(value != null);
+            if (value == null) return;
+        } else if (value == null) {
+            throw new IllegalStateException(column.name() + " is null");
+        }
+        switch (column.type()) {
+            case LONG -> writeVarLong(data, (Long) value);
+            case INT -> writeVarLong(data, (Integer) value);
+            case BOOLEAN -> data.writeBoolean((Boolean) value);
+            case STRING -> writeString(data, (String) value);
+            case DATE -> writeVarLong(data, ((LocalDate) value).toEpochDay());
+            case TIMESTAMP -> {
+                LocalDateTime time = (LocalDateTime) value;
+                writeVarLong(data, time.toEpochSecond(ZoneOffset.UTC));
+                writeVarLong(data, time.getNano());
+            }
+        }
+    }
+
+    private static void readValue(DataInputStream data, Column column, PreparedStatement ps, int index)
+            throws SQLException, IOException {
+        if (column.nullable() && !data.readBoolean()) {
+            ps.setObject(index, null);
+            return;
+        }
+        switch (column.type()) {
+            case LONG -> ps.setLong(index, readVarLong(data));
+            case INT -> ps.setInt(index, (int) readVarLong(data));
+            case BOOLEAN -> ps.setBoolean(index, data.readBoolean());
+            case STRING -> ps.setString(index, readString(data));
+            case DATE -> ps.setObject(index, LocalDate.ofEpochDay(readVarLong(data)));
+            case TIMESTAMP -> ps.setObject(index,
+                    LocalDateTime.ofEpochSecond(readVarLong(data), (int) readVarLong(data), ZoneOffset.UTC));
+        }
+    }
+
+    // zig-zag variable-length longs: small ids, dates and counts take one to three bytes
+
+    private static void writeVarLong(DataOutputStream data, long value) throws IOException {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            data.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        data.writeByte((int) v);
+    }
+
+    private static long readVarLong(DataInputStream data) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = data.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return (v >>> 1) ^ -(v & 1);
+        }
+        throw new IOException("Malformed number in snapshot");
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(data, bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(data)];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
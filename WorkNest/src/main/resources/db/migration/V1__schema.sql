@@ -0,0 +1,112 @@
+-- Baseline schema. Sequences step by 50 to match the entities' pooled-lo allocationSize.
+-- Each index is named after the repository queries it serves; QueryPlanTests checks that
+-- every query in TaskRepository, TaskCommentRepository and TaskActivityRepository uses one.
+
+create sequence users_seq start with 1 increment by 50;
+create sequence tasks_seq start with 1 increment by 50;
+create sequence task_assignments_seq start with 1 increment by 50;
+create sequence task_comments_seq start with 1 increment by 50;
+create sequence task_activity_seq start with 1 increment by 50;
+create sequence task_reassignment_seq start with 1 increment by 50;
+
+create table users (
+    id       bigint       not null,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    role     varchar(255) not null,
+    constraint pk_users primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table tasks (
+    id            bigint        not null,
+    title         varchar(255)  not null,
+    description   varchar(2000),
+    status        enum ('COMPLETED','IN_PROGRESS','PENDING') not null,
+    start_date    date          not null,
+    due_date      date          not null,
+    frozen        boolean       not null,
+    deleted       boolean       not null,
+    overdue       boolean       not null,
+    reminder_days integer,
+    version       bigint,
+    constraint pk_tasks primary key (id)
+);
+
+-- findByStatus, countByStatus
+create index idx_tasks_status on tasks (status, deleted);
+-- findByDeletedFalse, countActiveByStatus, countActiveByAssigneeAndStatus, lockActiveMatching
+create index idx_tasks_deleted_status on tasks (deleted, status);
+-- lockDueBetween, lockDueBefore, lockDueForReminder: (due_date, id) order without a sort
+create index idx_tasks_due_date on tasks (due_date, id);
+-- findByOverdueTrueAndDeletedFalse, countByOverdueTrueAndDeletedFalse, overdue filters
+create index idx_tasks_overdue_due_date on tasks (overdue, due_date, id);
+
+create table task_assignees (
+    task_id bigint not null,
+    user_id bigint not null,
+    constraint pk_task_assignees primary key (task_id, user_id),
+    constraint fk_task_assignees_task foreign key (task_id) references tasks (id),
+    constraint fk_task_assignees_user foreign key (user_id) references users (id)
+);
+
+-- findByAssignees_Id, existsByIdAndAssignees_Id: from the user's side
+create index idx_task_assignees_user on task_assignees (user_id, task_id);
+
+create table task_assignments (
+    id          bigint not null,
+    task_id     bigint not null,
+    assignee_id bigint not null,
+    start_date  date   not null,
+    due_date    date   not null,
+    status      enum ('COMPLETED','IN_PROGRESS','PENDING') not null,
+    constraint pk_task_assignments primary key (id),
+    constraint uk_task_assignments_task_assignee unique (task_id, assignee_id),
+    constraint fk_task_assignments_task foreign key (task_id) references tasks (id),
+    constraint fk_task_assignments_assignee foreign key (assignee_id) references users (id)
+);
+
+create table task_comments (
+    id         bigint        not null,
+    task_id    bigint        not null,
+    author_id  bigint        not null,
+    content    varchar(2000) not null,
+    created_at timestamp(6)  not null,
+    constraint pk_task_comments primary key (id),
+    constraint fk_task_comments_task foreign key (task_id) references tasks (id),
+    constraint fk_task_comments_author foreign key (author_id) references users (id)
+);
+
+-- findByTaskIdOrderByCreatedAtAsc, findNewest, findOlder, stampOf
+create index idx_task_comments_task_created on task_comments (task_id, created_at, id);
+
+create table task_activity (
+    id              bigint not null,
+    task_id         bigint,
+    performed_by_id bigint,
+    action          varchar(255),
+    details         varchar(255),
+    created_at      timestamp(6),
+    constraint pk_task_activity primary key (id),
+    constraint fk_task_activity_task foreign key (task_id) references tasks (id),
+    constraint fk_task_activity_performed_by foreign key (performed_by_id) references users (id)
+);
+
+-- findByTask_IdOrderByCreatedAtDesc, findNewest, findOlder, stampOf
+create index idx_task_activity_task_created on task_activity (task_id, created_at, id);
+
+create table task_reassignment (
+    id            bigint not null,
+    task_id       bigint,
+    from_user_id  bigint,
+    to_user_id    bigint,
+    comment       varchar(255),
+    reassigned_at timestamp(6),
+    constraint pk_task_reassignment primary key (id),
+    constraint fk_task_reassignment_task foreign key (task_id) references tasks (id),
+    constraint fk_task_reassignment_from_user foreign key (from_user_id) references users (id),
+    constraint fk_task_reassignment_to_user foreign key (to_user_id) references users (id)
+);
+
+-- findByTask_Id
+create index idx_task_reassignment_task on task_reassignment (task_id);
@@ -0,0 +1,86 @@
+-- Hot/cold partitioning. Tasks completed or soft-deleted long enough ago are moved, with their
+-- assignees, comments, activity and reassignments, from the hot tables into archived_* copies
+-- (see TaskArchiver). Archived rows are only read by the admin archive view and copied back
+-- when a task is restored.
+
+-- When the task was completed / soft-deleted; null while it is not. Rows that already are get
+-- the migration time, so they are archived once they have aged from there.
+alter table tasks add column completed_at timestamp(6);
+alter table tasks add column deleted_at timestamp(6);
+update tasks set completed_at = localtimestamp where status = 'COMPLETED';
+update tasks set deleted_at = localtimestamp where deleted = true;
+
+-- lockCompletedBefore, lockDeletedBefore: only rows with a timestamp are in range
+create index idx_tasks_completed_at on tasks (completed_at, id);
+create index idx_tasks_deleted_at on tasks (deleted_at, id);
+
+create table archived_tasks (
+    id            bigint        not null,
+    title         varchar(255)  not null,
+    description   varchar(2000),
+    status        enum ('COMPLETED','IN_PROGRESS','PENDING') not null,
+    start_date    date          not null,
+    due_date      date          not null,
+    frozen        boolean       not null,
+    deleted       boolean       not null,
+    overdue       boolean       not null,
+    reminder_days integer,
+    version       bigint,
+    completed_at  timestamp(6),
+    deleted_at    timestamp(6),
+    archived_at   timestamp(6)  not null,
+    constraint pk_archived_tasks primary key (id)
+);
+
+-- archive view: newest archived first
+create index idx_archived_tasks_archived_at on archived_tasks (archived_at, id);
+
+create table archived_task_assignees (
+    task_id bigint not null,
+    user_id bigint not null,
+    constraint pk_archived_task_assignees primary key (task_id, user_id),
+    constraint fk_archived_task_assignees_task foreign key (task_id) references archived_tasks (id),
+    constraint fk_archived_task_assignees_user foreign key (user_id) references users (id)
+);
+
+create table archived_task_comments (
+    id         bigint        not null,
+    task_id    bigint        not null,
+    author_id  bigint        not null,
+    content    varchar(2000) not null,
+    created_at timestamp(6)  not null,
+    constraint pk_archived_task_comments primary key (id),
+    constraint fk_archived_task_comments_task foreign key (task_id) references archived_tasks (id),
+    constraint fk_archived_task_comments_author foreign key (author_id) references users (id)
+);
+
+create index idx_archived_task_comments_task_created on archived_task_comments (task_id, created_at, id);
+
+create table archived_task_activity (
+    id              bigint not null,
+    task_id         bigint,
+    performed_by_id bigint,
+    action          varchar(255),
+    details         varchar(255),
+    created_at      timestamp(6),
+    constraint pk_archived_task_activity primary key (id),
+    constraint fk_archived_task_activity_task foreign key (task_id) references archived_tasks (id),
+    constraint fk_archived_task_activity_performed_by foreign key (performed_by_id) references users (id)
+);
+
+create index idx_archived_task_activity_task_created on archived_task_activity (task_id, created_at, id);
+
+create table archived_task_reassignment (
+    id            bigint not null,
+    task_id       bigint,
+    from_user_id  bigint,
+    to_user_id    bigint,
+    comment       varchar(255),
+    reassigned_at timestamp(6),
+    constraint pk_archived_task_reassignment primary key (id),
+    constraint fk_archived_task_reassignment_task foreign key (task_id) references archived_tasks (id),
+    constraint fk_archived_task_reassignment_from_user foreign key (from_user_id) references users (id),
+    constraint fk_archived_task_reassignment_to_user foreign key (to_user_id) references users (id)
+);
+
+create index idx_archived_task_reassignment_task on archived_task_reassignment (task_id);
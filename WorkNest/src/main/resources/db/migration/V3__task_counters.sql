@@ -0,0 +1,33 @@
+-- Denormalized per-task counters, so task lists can show them without touching task_comments or
+-- task_activity. TaskCommentService and ActivityLogWriter bump them with in-place UPDATEs in the
+-- transaction that inserts the comment / activity rows; TaskCounterRepair recomputes them.
+-- last_activity_at is the time of the newest comment or activity entry, or of the task's creation.
+alter table tasks add column comment_count integer default 0 not null;
+alter table tasks add column activity_count integer default 0 not null;
+alter table tasks add column last_activity_at timestamp(6) default localtimestamp not null;
+
+-- greatest() is null as soon as one argument is, hence the coalesce on each side
+update tasks t set
+    comment_count = (select count(*) from task_comments c where c.task_id = t.id),
+    activity_count = (select count(*) from task_activity a where a.task_id = t.id),
+    last_activity_at = coalesce(greatest(
+            coalesce((select max(c.created_at) from task_comments c where c.task_id = t.id), t.last_activity_at),
+            coalesce((select max(a.created_at) from task_activity a where a.task_id = t.id), t.last_activity_at)),
+        t.last_activity_at);
+
+-- task list sorted by recent activity: active tasks, newest activity first (H2 only sorts through
+-- an index in the index's own direction)
+create index idx_tasks_last_activity on tasks (deleted, last_activity_at desc, id desc);
+
+-- archived tasks keep their counters
+alter table archived_tasks add column comment_count integer default 0 not null;
+alter table archived_tasks add column activity_count integer default 0 not null;
+alter table archived_tasks add column last_activity_at timestamp(6) default localtimestamp not null;
+
+update archived_tasks t set
+    comment_count = (select count(*) from archived_task_comments c where c.task_id = t.id),
+    activity_count = (select count(*) from archived_task_activity a where a.task_id = t.id),
+    last_activity_at = coalesce(greatest(
+            coalesce((select max(c.created_at) from archived_task_comments c where c.task_id = t.id), t.last_activity_at),
+            coalesce((select max(a.created_at) from archived_task_activity a where a.task_id = t.id), t.last_activity_at)),
+        t.last_activity_at);
@@ -0,0 +1,105 @@
+// Live task updates over Server-Sent Events.
+//
+// Include with data-stream pointing at /live/tasks/{id} or /live/dashboard. The page opts in to
+// in-place updates through data attributes:
+//   data-task-id="…"            rows on the dashboard
+//   data-live-status            badges showing a task status (text and data-status are updated)
+//   data-live-status-select     <select> holding the current status
+//   data-live-delayed           "delayed" badge, hidden once the task is no longer overdue
+//   data-live-comments          list new comments are prepended to, using the
+//   <template data-live-comment> with [data-field=author|content|time] slots
+//   data-live-empty             "no comments yet" placeholder, removed on the first comment
+// Anything that cannot be patched in place (freeze, reassignment, new tasks) shows a notice
+// with a reload link instead.
+(function () {
+    var script = document.currentScript;
+    if (!script || !window.EventSource) return;
+    var stream = script.dataset.stream;
+    var taskPage = /\/live\/tasks\//.test(stream);
+
+    var notice = document.createElement('div');
+    notice.setAttribute('role', 'status');
+    notice.style.cssText = 'position:fixed;bottom:20px;right:20px;z-index:1000;display:none;max-width:360px;' +
+        'padding:12px 16px;border-radius:10px;background:#1e293b;color:#fff;font-size:14px;' +
+        'box-shadow:0 10px 25px rgba(0,0,0,0.2);';
+    document.body.appendChild(notice);
+    var hideTimer;
+
+    function show(message, sticky) {
+        clearTimeout(hideTimer);
+        notice.textContent = message + ' ';
+        if (sticky) {
+            var reload = document.createElement('a');
+            reload.href = location.href;
+            reload.textContent = 'Reload';
+            reload.style.cssText = 'color:#93c5fd;font-weight:600;';
+            notice.appendChild(reload);
+        } else {
+            hideTimer = setTimeout(function () { notice.style.display = 'none'; }, 5000);
+        }
+        notice.style.display = 'block';
+    }
+
+    function describe(u) {
+        if (u.changes.indexOf('created') >= 0) return 'New task assigned: ' + u.title + '.';
+        if (u.changes.indexOf('archived') >= 0) return '"' + u.title + '" was archived.';
+        if (u.changes.indexOf('deleted') >= 0) return '"' + u.title + '" was deleted.';
+        if (u.changes.indexOf('restored') >= 0) return '"' + u.title + '" was restored.';
+        if (u.changes.indexOf('frozen') >= 0) return '"' + u.title + '" was ' + (u.frozen ? 'frozen.' : 'unfrozen.');
+        if (u.changes.indexOf('assignees') >= 0) return 'Assignees of "' + u.title + '" changed.';
+        if (u.changes.indexOf('status') < 0 && u.overdue) return '"' + u.title + '" is now overdue.';
+        return '"' + u.title + '" is now ' + u.status + '.';
+    }
+
+    function updateStatus(root, status, overdue) {
+        root.querySelectorAll('[data-live-status]').forEach(function (el) {
+            el.textContent = status;
+            el.dataset.status = status;
+        });
+        root.querySelectorAll('[data-live-status-select]').forEach(function (el) { el.value = status; });
+        if (!overdue) {
+            root.querySelectorAll('[data-live-delayed]').forEach(function (el) { el.style.display = 'none'; });
+        }
+    }
+
+    function onTask(u) {
+        var statusOnly = u.changes.indexOf('status') >= 0 &&
+            u.changes.every(function (c) { return c === 'status' || c === 'overdue'; });
+        var root = taskPage ? document : document.querySelector('[data-task-id="' + u.taskId + '"]');
+        if (statusOnly && root) {
+            updateStatus(root, u.status, u.overdue);
+            show(describe(u), false);
+        } else {
+            show(describe(u), true);
+        }
+    }
+
+    function onComment(c) {
+        var list = document.querySelector('[data-live-comments]');
+        var template = document.querySelector('template[data-live-comment]');
+        if (!list || !template) return show('New comment from ' + c.author + '.', true);
+
+        var item = template.content.firstElementChild.cloneNode(true);
+        item.querySelectorAll('[data-field]').forEach(function (el) {
+            var f = el.dataset.field;
+            el.textContent = f === 'time' ? c.createdAt.replace('T', ' ').substring(0, 16)
+                : f === 'initial' ? c.author.charAt(0).toUpperCase() : c[f];
+        });
+        list.insertBefore(item, list.firstChild);
+        document.querySelectorAll('[data-live-empty]').forEach(function (el) { el.remove(); });
+    }
+
+    var source = new EventSource(stream);
+    source.addEventListener('task', function (e) { onTask(JSON.parse(e.data)); });
+    source.addEventListener('comment', function (e) { onComment(JSON.parse(e.data)); });
+    source.addEventListener('reminder', function (e) {
+        var r = JSON.parse(e.data);
+        show('"' + r.title + '" is due ' + (r.daysLeft === 0 ? 'today.' : r.daysLeft === 1 ? 'tomorrow.' : 'in ' + r.daysLeft + ' days.'), false);
+    });
+    source.addEventListener('revoked', function (e) {
+        source.close();
+        var u = JSON.parse(e.data);
+        show(u.changes.indexOf('archived') >= 0 ? describe(u) : 'You are no longer assigned to this task.', true);
+    });
+    window.addEventListener('pagehide', function () { source.close(); });
+})();
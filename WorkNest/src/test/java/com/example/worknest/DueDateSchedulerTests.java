@@ -0,0 +1,141 @@
+package com.example.worknest;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.User;
+import com.example.worknest.repository.TaskRepository;
+import com.example.worknest.service.DueDateScheduler;
+import com.example.worknest.service.TaskActivityService;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The due-date sweep driven by a clock the test moves: a task turns overdue once, each reminder
+ * window fires once per task (also after a restart), the day's work happens on the first sweep
+ * after midnight, and a restored task gets its remaining reminders again.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:duedates",
+        "worknest.activity.write-mode=sync",
+        "worknest.due-dates.sweep-interval=P1D"})
+class DueDateSchedulerTests {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    @Autowired UserService userService;
+    @Autowired TaskService taskService;
+    @Autowired TaskRepository taskRepo;
+    @Autowired TaskActivityService activityService;
+    @Autowired ApplicationEventPublisher events;
+    @Autowired TransactionTemplate tx;
+    @Autowired JdbcTemplate jdbc;
+
+    private Clock clock;
+
+    @Test
+    void flagsOverdueOnceAndRemindsOncePerWindow() {
+        userService.create("due-user", "pw", "USER");
+        User user = userService.findByUsername("due-user").orElseThrow();
+        LocalDate today = LocalDate.now();
+        Task tomorrow = taskService.create("Due tomorrow", null, List.of(user.getId()), today, today.plusDays(1));
+        Task inThree = taskService.create("Due in three", null, List.of(user.getId()), today, today.plusDays(3));
+
+        at(today, LocalTime.of(23, 59));
+        DueDateScheduler scheduler = scheduler();
+        scheduler.sweep();
+        assertThat(entries(tomorrow, "Reminder")).containsExactly("Due in 1 day");
+        assertThat(entries(inThree, "Reminder")).containsExactly("Due in 3 days");
+
+        // same day, and a restarted instance: nothing new
+        scheduler.sweep();
+        scheduler().sweep();
+        assertThat(entries(tomorrow, "Reminder")).hasSize(1);
+        assertThat(entries(inThree, "Reminder")).hasSize(1);
+
+        // just past midnight: due tomorrow is now due today, its 1-day reminder is already out
+        at(today.plusDays(1), LocalTime.of(0, 0, 1));
+        scheduler.sweep();
+        assertThat(entries(tomorrow, "Reminder")).hasSize(1);
+        assertThat(entries(tomorrow, "Overdue")).isEmpty();
+
+        at(today.plusDays(2), LocalTime.of(0, 0, 1));
+        scheduler.sweep();
+        assertThat(taskService.getById(tomorrow.getId()).isOverdue()).isTrue();
+        assertThat(entries(tomorrow, "Overdue")).hasSize(1);
+        assertThat(entries(inThree, "Reminder")).containsExactly("Due in 3 days", "Due in 1 day");
+
+        at(today.plusDays(3), LocalTime.NOON);
+        scheduler.sweep();
+        scheduler().sweep();
+        assertThat(entries(tomorrow, "Overdue")).hasSize(1);
+        assertThat(entries(inThree, "Reminder")).hasSize(2);
+
+        // system entries, no user
+        assertThat(jdbc.queryForObject("select count(*) from task_activity where task_id in (?, ?) " +
+                "and performed_by_id is not null and action in ('Reminder', 'Overdue')",
+                Integer.class, tomorrow.getId(), inThree.getId())).isZero();
+    }
+
+    @Test
+    void restoredTaskIsRemindedAgain() {
+        userService.create("due-restore", "pw", "USER");
+        User user = userService.findByUsername("due-restore").orElseThrow();
+        LocalDate today = LocalDate.now();
+        Task task = taskService.create("Due restored", null, List.of(user.getId()), today, today.plusDays(3));
+
+        at(today, LocalTime.of(9, 0));
+        scheduler().sweep();
+        assertThat(entries(task, "Reminder")).hasSize(1);
+
+        taskService.delete(task.getId());
+        taskService.restore(task.getId());
+        assertThat(taskService.getById(task.getId()).getReminderDays()).isNull();
+
+        scheduler().sweep();
+        assertThat(entries(task, "Reminder")).containsExactly("Due in 3 days", "Due in 3 days");
+    }
+
+    private DueDateScheduler scheduler() {
+        // a proxy for the test's clock, so schedulers made earlier see it move
+        Clock current = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZONE;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return clock.instant();
+            }
+        };
+        return new DueDateScheduler(taskRepo, activityService, events, tx, new int[]{1, 3}, 500, current);
+    }
+
+    private void at(LocalDate date, LocalTime time) {
+        clock = Clock.fixed(date.atTime(time).atZone(ZONE).toInstant(), ZONE);
+    }
+
+    private List<String> entries(Task task, String action) {
+        return jdbc.queryForList("select details from task_activity where task_id = ? and action = ? order by id",
+                String.class, task.getId(), action);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.worknest;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskComment;
+import com.example.worknest.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class JdbcBatchingTests {
+
+    private static final int ROWS = 200;
+
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired TransactionTemplate tx;
+
+    @Test
+    void insertsAreSentInJdbcBatches() {
+        User author = tx.execute(s -> {
+            User u = User.builder().username("batch-author").password("x").role("USER").build();
+            em.persist(u);
+            return u;
+        });
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        tx.executeWithoutResult(s -> {
+            Task task = Task.builder()
+                    .title("Batched")
+                    .startDate(LocalDate.now())
+                    .dueDate(LocalDate.now())
+                    .assignees(Set.of(em.getReference(User.class, author.getId())))
+                    .build();
+            em.persist(task);
+            for (int i = 0; i < ROWS; i++) {
+                em.persist(TaskComment.builder().task(task).author(task.getAssignees().iterator().next())
+                        .content("comment " + i).build());
+            }
+        });
+
+        assertThat(stats.getEntityInsertCount()).isEqualTo(ROWS + 1);
+        // without batching every row would be its own prepared statement; with batch_size=50 and
+        // pooled-lo sequences it is a handful of inserts plus one sequence call per 50 ids
+        assertThat(stats.getPrepareStatementCount()).isLessThan(20);
+    }
+}
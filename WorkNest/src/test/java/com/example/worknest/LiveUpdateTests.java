@@ -0,0 +1,169 @@
+package com.example.worknest;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.model.User;
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.LiveUpdateService;
+import com.example.worknest.service.TaskArchiver;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Live updates end to end, from a committed change to the event streams: one change reaches the
+ * task's detail pages and the dashboards of its assignees, a subscriber who is unassigned or
+ * whose task is archived gets "revoked" and loses the stream, and streams past
+ * worknest.live.max-connections are refused with a 503.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:liveupdates",
+        "worknest.activity.write-mode=sync",
+        "worknest.live.max-connections=10"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LiveUpdateTests {
+
+    private static final long WAIT_MS = 5_000;
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired TaskService taskService;
+    @Autowired TaskArchiver archiver;
+    @Autowired LiveUpdateService liveService;
+    @Autowired JdbcTemplate jdbc;
+
+    private User alice;
+    private User bob;
+    private RequestPostProcessor admin;
+
+    @BeforeAll
+    void seed() {
+        userService.create("live-admin", "pw", "ADMIN");
+        userService.create("live-alice", "pw", "USER");
+        userService.create("live-bob", "pw", "USER");
+        alice = userService.findByUsername("live-alice").orElseThrow();
+        bob = userService.findByUsername("live-bob").orElseThrow();
+        User a = userService.findByUsername("live-admin").orElseThrow();
+        admin = user(new WorkNestUserDetails(a.getId(), a.getUsername(), "x", "ADMIN"));
+    }
+
+    @Test
+    void changeReachesEveryStreamOfTheTask() throws Exception {
+        Task task = create("Live fan-out", alice, bob);
+        MockHttpServletResponse alicePage = open("/live/tasks/" + task.getId(), as(alice));
+        MockHttpServletResponse bobPage = open("/live/tasks/" + task.getId(), as(bob));
+        MockHttpServletResponse adminPage = open("/live/tasks/" + task.getId(), admin);
+        MockHttpServletResponse bobDashboard = open("/live/dashboard", as(bob));
+
+        taskService.updateStatus(task.getId(), TaskStatus.IN_PROGRESS);
+
+        for (MockHttpServletResponse stream : List.of(alicePage, bobPage, adminPage, bobDashboard)) {
+            eventually(() -> assertThat(content(stream)).contains("event:task").contains("\"changes\":[\"status\"]"));
+        }
+    }
+
+    @Test
+    void unassignedSubscriberLosesTheStream() throws Exception {
+        Task task = create("Live reassign", alice, bob);
+        MockHttpServletResponse alicePage = open("/live/tasks/" + task.getId(), as(alice));
+        MockHttpServletResponse adminPage = open("/live/tasks/" + task.getId(), admin);
+        int open = liveService.connectionCount();
+
+        taskService.assignUsers(task.getId(), List.of(bob.getId()));
+
+        eventually(() -> assertThat(content(alicePage)).contains("event:revoked"));
+        eventually(() -> assertThat(content(adminPage)).contains("event:task").contains("assignees"));
+        assertThat(content(adminPage)).doesNotContain("event:revoked");
+        eventually(() -> assertThat(liveService.connectionCount()).isEqualTo(open - 1));
+    }
+
+    @Test
+    void archivedTaskClosesItsStreams() throws Exception {
+        Task task = create("Live archive", alice);
+        taskService.updateStatus(task.getId(), TaskStatus.COMPLETED);
+        MockHttpServletResponse alicePage = open("/live/tasks/" + task.getId(), as(alice));
+        MockHttpServletResponse adminPage = open("/live/tasks/" + task.getId(), admin);
+        MockHttpServletResponse aliceDashboard = open("/live/dashboard", as(alice));
+        int open = liveService.connectionCount();
+
+        jdbc.update("update tasks set completed_at = ? where id = ?", LocalDateTime.now().minusDays(100), task.getId());
+        archiver.run();
+
+        for (MockHttpServletResponse page : List.of(alicePage, adminPage)) {
+            eventually(() -> assertThat(content(page)).contains("event:revoked").contains("archived"));
+        }
+        eventually(() -> assertThat(content(aliceDashboard)).contains("event:task").contains("archived"));
+        eventually(() -> assertThat(liveService.connectionCount()).isEqualTo(open - 2));
+    }
+
+    @Test
+    void refusesStreamsOverTheLimit() throws Exception {
+        while (liveService.connectionCount() < 10) {
+            open("/live/dashboard", as(alice));
+        }
+
+        mvc.perform(get("/live/dashboard").with(as(bob)))
+                .andExpect(status().isServiceUnavailable());
+        assertThat(liveService.connectionCount()).isEqualTo(10);
+    }
+
+    private Task create(String title, User... assignees) {
+        LocalDate today = LocalDate.now();
+        return taskService.create(title, null, Arrays.stream(assignees).map(User::getId).toList(),
+                today, today.plusDays(7));
+    }
+
+    private MockHttpServletResponse open(String path, RequestPostProcessor who) throws Exception {
+        return mvc.perform(get(path).with(who))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private static RequestPostProcessor as(User u) {
+        return user(new WorkNestUserDetails(u.getId(), u.getUsername(), "x", "USER"));
+    }
+
+    private static String content(MockHttpServletResponse stream) {
+        try {
+            return stream.getContentAsString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // events are written by the sender thread after the commit
+    private static void eventually(Runnable assertion) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (true) {
+            try {
+                assertion.run();
+                return;
+            } catch (AssertionError e) {
+                if (System.currentTimeMillis() > deadline) throw e;
+                Thread.sleep(20);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.worknest;
+
+import com.example.worknest.config.RequestMetricsFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc expectation on how many SQL statements Hibernate ran for a request, as counted by
+ * {@link RequestMetricsFilter}. Budgets should not depend on how many rows a page shows, so an
+ * N+1 (one more query per row) fails the test as soon as the seeded data has more than a few rows.
+ */
+final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    static ResultMatcher atMost(int statements) {
+        return result -> {
+            Object counted = result.getRequest().getAttribute(RequestMetricsFilter.SQL_STATEMENTS);
+            assertThat(counted).as("SQL statement count (is RequestMetricsFilter registered?)").isNotNull();
+            assertThat((Integer) counted)
+                    .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(statements);
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.worknest;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.User;
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.TaskActivityService;
+import com.example.worknest.service.TaskCommentService;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every page and API read stays within a fixed number of SQL statements. The data is sized so
+ * that each list shows more rows (tasks, assignees, comments, activity entries, distinct
+ * authors) than its budget, so any per-row lazy load pushes the request over it.
+ */
+@SpringBootTest(properties = "worknest.activity.write-mode=sync")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTests {
+
+    private static final int USERS = 12;
+    private static final int TASKS = 30;
+    private static final int TIMELINE_ENTRIES = 25;
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired TaskService taskService;
+    @Autowired TaskCommentService commentService;
+    @Autowired TaskActivityService activityService;
+
+    private final List<User> users = new ArrayList<>();
+    private Long busyTaskId;
+    private RequestPostProcessor admin;
+    private RequestPostProcessor assignee;
+
+    @BeforeAll
+    void seed() {
+        userService.create("budget-admin", "pw", "ADMIN");
+        for (int u = 0; u < USERS; u++) {
+            userService.create("budget-user-" + u, "pw", "USER");
+            users.add(userService.findByUsername("budget-user-" + u).orElseThrow());
+        }
+        List<Long> everyone = users.stream().map(User::getId).toList();
+
+        LocalDate today = LocalDate.now();
+        for (int t = 0; t < TASKS; t++) {
+            Task task = taskService.create("Budget task " + t, "budget", everyone, today.minusDays(20), today.plusDays(t - 10));
+            if (busyTaskId == null) busyTaskId = task.getId();
+        }
+        for (int i = 0; i < TIMELINE_ENTRIES; i++) {
+            User author = users.get(i % USERS);
+            commentService.add(busyTaskId, author.getId(), "budget comment " + i);
+            activityService.log(busyTaskId, author, "Status Update", "entry " + i);
+        }
+
+        User admin = userService.findByUsername("budget-admin").orElseThrow();
+        this.admin = user(new WorkNestUserDetails(admin.getId(), admin.getUsername(), "x", "ADMIN"));
+        this.assignee = user(new WorkNestUserDetails(users.get(0).getId(), users.get(0).getUsername(), "x", "USER"));
+    }
+
+    @Test
+    void adminPages() throws Exception {
+        expect(get("/admin/dashboard").with(admin), 0);
+        expect(get("/admin/tasks").with(admin), 3);
+        expect(get("/admin/tasks").param("status", "DELAYED").param("size", "100").with(admin), 3);
+        expect(get("/admin/tasks").param("sort", "RECENT_ACTIVITY").with(admin), 3);
+        // a due-date cursor left in the URL after switching the sort starts the list over
+        expect(get("/admin/tasks").param("sort", "RECENT_ACTIVITY").param("after", LocalDate.now() + "_1").with(admin), 3);
+        expect(get("/admin/tasks/" + busyTaskId).with(admin), 3);
+    }
+
+    @Test
+    void userPages() throws Exception {
+        expect(get("/user/dashboard").with(assignee), 1);
+        expect(get("/user/tasks/" + busyTaskId).with(assignee), 4);
+        expect(get("/search").param("q", "budget").with(assignee), 1);
+        // a page far past the results (page * size overflows an int)
+        expect(get("/search").param("q", "budget").param("page", "30000000").param("size", "100").with(assignee), 1);
+    }
+
+    @Test
+    void apiReads() throws Exception {
+        expect(get("/api/v1/tasks").param("size", "100").with(admin), 2);
+        expect(get("/api/v1/tasks/" + busyTaskId).with(admin), 2);
+        expect(get("/api/v1/tasks/" + busyTaskId + "/comments").with(assignee), 2);
+        expect(get("/api/v1/tasks/" + busyTaskId + "/activities").with(assignee), 2);
+        expect(get("/api/v1/users").with(admin), 1);
+    }
+
+    private void expect(MockHttpServletRequestBuilder request, int budget) throws Exception {
+        mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(budget));
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.worknest;
+
+import com.example.worknest.config.SqlStatementCounter;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.repository.TaskActivityRepository;
+import com.example.worknest.repository.TaskCommentRepository;
+import com.example.worknest.repository.TaskRepository;
+import com.example.worknest.service.TaskCursor;
+import com.example.worknest.service.TaskFilter;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.TaskSort;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every query declared in TaskRepository, TaskCommentRepository and TaskActivityRepository reads
+ * through an index of the Flyway schema. Each query runs once against a few thousand seeded tasks;
+ * the SQL Hibernate sends is captured and its H2 {@code EXPLAIN} plan must not contain a table
+ * scan. A query method without a check here fails the test as well, so new queries get one.
+ * The task list's Specification queries are built at runtime and checked through
+ * {@link TaskService#findPage}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.worknest.QueryPlanTests$CapturedSql"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+
+    private static final int USERS = 50;
+    private static final int TASKS = 5_000;
+    // above anything the sequences hand out while the test runs
+    private static final long FIRST_ID = 1_000_000;
+
+    @Autowired TaskRepository taskRepo;
+    @Autowired TaskCommentRepository commentRepo;
+    @Autowired TaskActivityRepository activityRepo;
+    @Autowired TaskService taskService;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired TransactionTemplate tx;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> users = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            users.add(new Object[]{FIRST_ID + u, "plan-user-" + u, "x", "USER"});
+        }
+        jdbc.batchUpdate("insert into users (id, username, password, role) values (?, ?, ?, ?)", users);
+
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Object[]> tasks = new ArrayList<>();
+        List<Object[]> assignees = new ArrayList<>();
+        List<Object[]> timeline = new ArrayList<>();
+        for (int t = 0; t < TASKS; t++) {
+            long id = FIRST_ID + t;
+            LocalDate due = today.plusDays(t % 60 - 30);
+            TaskStatus status = statuses[t % statuses.length];
+            tasks.add(new Object[]{id, "Plan task " + t, status.name(), due.minusDays(10), due,
+                    t % 10 == 0, status.isOverdue(due, today)});
+            assignees.add(new Object[]{id, FIRST_ID + t % USERS});
+            assignees.add(new Object[]{id, FIRST_ID + (t + 1) % USERS});
+            for (int e = 0; e < 2; e++) {
+                timeline.add(new Object[]{FIRST_ID + t * 2L + e, id, FIRST_ID + (t + e) % USERS,
+                        LocalDateTime.now().minusMinutes(e)});
+            }
+        }
+        jdbc.batchUpdate("insert into tasks (id, title, status, start_date, due_date, frozen, deleted, overdue, version) " +
+                "values (?, ?, ?, ?, ?, false, ?, ?, 0)", tasks);
+        jdbc.batchUpdate("insert into task_assignees (task_id, user_id) values (?, ?)", assignees);
+        jdbc.batchUpdate("insert into task_comments (id, task_id, author_id, content, created_at) " +
+                "values (?, ?, ?, 'plan comment', ?)", timeline);
+        jdbc.batchUpdate("insert into task_activity (id, task_id, performed_by_id, action, details, created_at) " +
+                "values (?, ?, ?, 'Status Update', 'plan entry', ?)", timeline);
+    }
+
+    @Test
+    void taskQueries() {
+        long task = FIRST_ID + 7;
+        long user = FIRST_ID + 7;
+        List<Long> ids = List.of(FIRST_ID, FIRST_ID + 1, FIRST_ID + 2);
+        checkAll(TaskRepository.class, Map.ofEntries(
+                entry("findByAssignees_Id", () -> taskRepo.findByAssignees_Id(user)),
+                entry("existsByIdAndAssignees_Id", () -> taskRepo.existsByIdAndAssignees_Id(task, user)),
+                entry("findWithAssigneesById", () -> taskRepo.findWithAssigneesById(task)),
+                entry("findByStatus", () -> taskRepo.findByStatus(TaskStatus.IN_PROGRESS)),
+                entry("findByOverdueTrueAndDeletedFalse", () -> taskRepo.findByOverdueTrueAndDeletedFalse()),
+                entry("countByStatus", () -> taskRepo.countByStatus(TaskStatus.PENDING)),
+                entry("countByOverdueTrueAndDeletedFalse", () -> taskRepo.countByOverdueTrueAndDeletedFalse()),
+                entry("findByDeletedFalse", () -> taskRepo.findByDeletedFalse()),
+                entry("findVersionById", () -> taskRepo.findVersionById(task)),
+                entry("lockById", () -> taskRepo.lockById(task)),
+                entry("countActiveByStatus", () -> taskRepo.countActiveByStatus()),
+                entry("countActiveByAssigneeAndStatus", () -> taskRepo.countActiveByAssigneeAndStatus()),
+                entry("lockDueBetween", () -> taskRepo.lockDueBetween(today.minusDays(3), today, Limit.of(50))),
+                entry("lockDueBefore", () -> taskRepo.lockDueBefore(today, Limit.of(50))),
+                entry("lockDueForReminder", () -> taskRepo.lockDueForReminder(today, today.plusDays(3), 3, Limit.of(50))),
+                entry("markOverdue", () -> taskRepo.markOverdue(ids)),
+                entry("markReminded", () -> taskRepo.markReminded(ids, 3)),
+                entry("clearReminders", () -> taskRepo.clearReminders(task)),
+                entry("lockActiveByIds", () -> taskRepo.lockActiveByIds(ids)),
+                entry("lockActiveMatching", () -> taskRepo.lockActiveMatching(TaskStatus.PENDING, today, 0, Limit.of(500))),
+                entry("bulkUpdateStatus", () -> taskRepo.bulkUpdateStatus(ids, TaskStatus.COMPLETED, today)),
+                entry("bulkSetFrozen", () -> taskRepo.bulkSetFrozen(ids, true)),
+                entry("bulkClearAssignees", () -> taskRepo.bulkClearAssignees(ids)),
+                entry("bulkAddAssignees", () -> taskRepo.bulkAddAssignees(ids, List.of(FIRST_ID + USERS - 1))),
+                entry("bumpVersions", () -> taskRepo.bumpVersions(ids)),
+                entry("recordComment", () -> taskRepo.recordComment(task, LocalDateTime.now())),
+                entry("lockCompletedBefore", () -> taskRepo.lockCompletedBefore(LocalDateTime.now(), Limit.of(50))),
+                entry("lockDeletedBefore", () -> taskRepo.lockDeletedBefore(LocalDateTime.now(), Limit.of(50))),
+                entry("fetchAssignees", () -> taskRepo.fetchAssignees(ids))));
+    }
+
+    @Test
+    void commentQueries() {
+        long task = FIRST_ID + 7;
+        checkAll(TaskCommentRepository.class, Map.of(
+                "findByTaskIdOrderByCreatedAtAsc", () -> commentRepo.findByTaskIdOrderByCreatedAtAsc(task),
+                "findNewest", () -> commentRepo.findNewest(task, Limit.of(20)),
+                "findOlder", () -> commentRepo.findOlder(task, LocalDateTime.now(), Long.MAX_VALUE, Limit.of(20)),
+                "stampOf", () -> commentRepo.stampOf(task)));
+    }
+
+    @Test
+    void activityQueries() {
+        long task = FIRST_ID + 7;
+        checkAll(TaskActivityRepository.class, Map.of(
+                "findByTask_IdOrderByCreatedAtDesc", () -> activityRepo.findByTask_IdOrderByCreatedAtDesc(task),
+                "findNewest", () -> activityRepo.findNewest(task, Limit.of(20)),
+                "findOlder", () -> activityRepo.findOlder(task, LocalDateTime.now(), Long.MAX_VALUE, Limit.of(20)),
+                "stampOf", () -> activityRepo.stampOf(task)));
+    }
+
+    @Test
+    void taskListQueries() {
+        TaskFilter recent = new TaskFilter(null, false, null, null, TaskSort.RECENT_ACTIVITY, false);
+        TaskCursor cursor = new TaskCursor(null, LocalDateTime.now().minusMinutes(1), FIRST_ID + 7);
+        checkPlans("TaskService.findPage", Map.of(
+                "RECENT_ACTIVITY", () -> taskService.findPage(recent, null, 25),
+                "RECENT_ACTIVITY after", () -> taskService.findPage(recent, cursor, 25)));
+    }
+
+    private void checkAll(Class<?> repository, Map<String, Runnable> queries) {
+        assertThat(queries.keySet())
+                .as("query methods of %s with a plan check", repository.getSimpleName())
+                .containsExactlyInAnyOrderElementsOf(Arrays.stream(repository.getDeclaredMethods())
+                        .filter(m -> !m.isSynthetic()).map(Method::getName).toList());
+        checkPlans(repository.getSimpleName(), queries);
+    }
+
+    private void checkPlans(String owner, Map<String, Runnable> queries) {
+        SoftAssertions plans = new SoftAssertions();
+        queries.forEach((name, query) -> {
+            List<String> statements = capture(query);
+            plans.assertThat(statements).as("SQL of %s.%s", owner, name).isNotEmpty();
+            for (String sql : statements) {
+                plans.assertThat(explain(sql))
+                        .as("plan of %s.%s", owner, name)
+                        .doesNotContainIgnoringCase(".tableScan");
+            }
+        });
+        plans.assertAll();
+    }
+
+    /** The statements a query sends; updates are rolled back so every check sees the seeded data */
+    private List<String> capture(Runnable query) {
+        List<String> statements;
+        CapturedSql.start();
+        try {
+            tx.executeWithoutResult(status -> {
+                query.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            statements = CapturedSql.stop();
+        }
+        return statements;
+    }
+
+    private String explain(String sql) {
+        return jdbc.execute((ConnectionCallback<String>) con -> {
+            try (PreparedStatement ps = con.prepareStatement("explain " + sql)) {
+                for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                    ps.setObject(i, null);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    /** Also collects the SQL Hibernate prepares on the current thread between start() and stop() */
+    public static class CapturedSql extends SqlStatementCounter {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        static void start() {
+            STATEMENTS.set(new ArrayList<>());
+        }
+
+        static List<String> stop() {
+            List<String> statements = STATEMENTS.get();
+            STATEMENTS.remove();
+            return statements;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) statements.add(sql);
+            return super.inspect(sql);
+        }
+    }
+}
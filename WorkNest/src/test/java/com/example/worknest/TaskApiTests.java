@@ -0,0 +1,70 @@
+package com.example.worknest;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.model.User;
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional status changes: an If-Match with the task's current ETag applies, one with an
+ * ETag from before another change gets 412 and changes nothing.
+ */
+@SpringBootTest(properties = "worknest.activity.write-mode=sync")
+@AutoConfigureMockMvc
+class TaskApiTests {
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired TaskService taskService;
+
+    @Test
+    void statusChangeHonoursIfMatch() throws Exception {
+        userService.create("api-admin", "pw", "ADMIN");
+        User admin = userService.findByUsername("api-admin").orElseThrow();
+        RequestPostProcessor asAdmin = user(new WorkNestUserDetails(admin.getId(), admin.getUsername(), "x", "ADMIN"));
+        LocalDate today = LocalDate.now();
+        Task task = taskService.create("Api task", null, List.of(admin.getId()), today, today.plusDays(3));
+        String url = "/api/v1/tasks/" + task.getId();
+
+        String seen = mvc.perform(get(url).with(asAdmin))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String current = mvc.perform(post(url + "/status").with(asAdmin)
+                        .header(HttpHeaders.IF_MATCH, seen)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(current).isNotEqualTo(seen);
+
+        // a client still holding the first ETag loses
+        mvc.perform(post(url + "/status").with(asAdmin)
+                        .header(HttpHeaders.IF_MATCH, seen)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(taskService.getById(task.getId()).getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+
+        mvc.perform(get(url).with(asAdmin))
+                .andExpect(header().string(HttpHeaders.ETAG, current));
+    }
+}
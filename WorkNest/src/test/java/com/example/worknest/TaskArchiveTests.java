@@ -0,0 +1,105 @@
+package com.example.worknest;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskComment;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.model.User;
+import com.example.worknest.search.SearchHit;
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.DashboardStatsService;
+import com.example.worknest.service.TaskActivityService;
+import com.example.worknest.service.TaskArchiveService;
+import com.example.worknest.service.TaskArchiver;
+import com.example.worknest.service.TaskCommentService;
+import com.example.worknest.service.TaskSearchService;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tasks completed or soft-deleted more than worknest.archive.after-days ago move to the archive
+ * with their comments and activity, drop out of the in-memory views and the search index, and
+ * come back through {@link TaskService#restore}.
+ */
+@SpringBootTest(properties = "worknest.activity.write-mode=sync")
+class TaskArchiveTests {
+
+    @Autowired UserService userService;
+    @Autowired TaskService taskService;
+    @Autowired TaskCommentService commentService;
+    @Autowired TaskActivityService activityService;
+    @Autowired TaskArchiver archiver;
+    @Autowired TaskArchiveService archive;
+    @Autowired DashboardStatsService stats;
+    @Autowired TaskSearchService search;
+    @Autowired JdbcTemplate jdbc;
+
+    @Test
+    void archivesOldTasksAndRestoresThem() {
+        userService.create("archive-user", "pw", "USER");
+        User user = userService.findByUsername("archive-user").orElseThrow();
+        LocalDate today = LocalDate.now();
+        List<Long> assignee = List.of(user.getId());
+
+        Task done = taskService.create("Archive done", "old work", assignee, today.minusDays(200), today.minusDays(150));
+        Task dropped = taskService.create("Archive dropped", null, assignee, today.minusDays(200), today.minusDays(150));
+        Task recent = taskService.create("Archive recent", null, assignee, today.minusDays(20), today.minusDays(10));
+        commentService.add(done.getId(), user.getId(), "archive comment");
+        activityService.log(done, user, "Status Update", "archive entry");
+        taskService.updateStatus(done.getId(), TaskStatus.COMPLETED);
+        taskService.updateStatus(recent.getId(), TaskStatus.COMPLETED);
+        taskService.delete(dropped.getId());
+
+        // age two of them past after-days (90)
+        jdbc.update("update tasks set completed_at = ? where id = ?", LocalDateTime.now().minusDays(100), done.getId());
+        jdbc.update("update tasks set deleted_at = ? where id = ?", LocalDateTime.now().minusDays(100), dropped.getId());
+        long completed = stats.global().completed();
+        assertThat(hits(user, "archive comment")).contains(done.getId());
+
+        archiver.run();
+
+        assertThat(count("select count(*) from tasks where id in (?, ?)", done.getId(), dropped.getId())).isZero();
+        assertThat(count("select count(*) from task_comments where task_id = ?", done.getId())).isZero();
+        assertThat(count("select count(*) from task_activity where task_id = ?", done.getId())).isZero();
+        assertThat(count("select count(*) from archived_task_comments where task_id = ?", done.getId())).isEqualTo(1);
+        assertThat(count("select count(*) from archived_task_activity where task_id = ?", done.getId())).isEqualTo(1);
+        assertThat(archive.getById(done.getId()).assignees()).containsExactly("archive-user");
+        assertThat(archive.getById(dropped.getId()).deleted()).isTrue();
+        assertThat(taskService.getById(recent.getId()).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(stats.global().completed()).isEqualTo(completed - 1);
+        assertThat(taskService.isAssignee(done.getId(), user.getId())).isFalse();
+        assertThat(hits(user, "archive")).doesNotContain(done.getId(), dropped.getId());
+
+        taskService.restore(done.getId());
+        taskService.restore(dropped.getId());
+
+        Task back = taskService.getById(done.getId());
+        assertThat(back.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(back.getCompletedAt()).isAfter(LocalDateTime.now().minusMinutes(1)); // a full period again
+        assertThat(commentService.listByTask(done.getId())).extracting(TaskComment::getContent)
+                .containsExactly("archive comment");
+        assertThat(taskService.getById(dropped.getId()).isDeleted()).isFalse();
+        assertThat(count("select count(*) from archived_tasks where id in (?, ?)", done.getId(), dropped.getId())).isZero();
+        assertThat(stats.global().completed()).isEqualTo(completed);
+        assertThat(taskService.isAssignee(done.getId(), user.getId())).isTrue();
+        assertThat(hits(user, "archive comment")).containsOnlyOnce(done.getId());
+    }
+
+    private List<Long> hits(User user, String query) {
+        WorkNestUserDetails caller = new WorkNestUserDetails(user.getId(), user.getUsername(), "x", "USER");
+        return search.search(query, caller, 0, 100).hits().stream().map(SearchHit::taskId).toList();
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbc.queryForObject(sql, Long.class, args);
+    }
+}
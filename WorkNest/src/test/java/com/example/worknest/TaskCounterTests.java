@@ -0,0 +1,74 @@
+package com.example.worknest;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.User;
+import com.example.worknest.service.TaskActivityService;
+import com.example.worknest.service.TaskCommentService;
+import com.example.worknest.service.TaskCounterRepair;
+import com.example.worknest.service.TaskCursor;
+import com.example.worknest.service.TaskFilter;
+import com.example.worknest.service.TaskPage;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.TaskSort;
+import com.example.worknest.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comments and activity entries bump the task's counters in place, the task list can be paged by
+ * recent activity, and {@link TaskCounterRepair} puts counters that were changed behind the
+ * application's back right again.
+ */
+@SpringBootTest(properties = "worknest.activity.write-mode=sync")
+class TaskCounterTests {
+
+    @Autowired UserService userService;
+    @Autowired TaskService taskService;
+    @Autowired TaskCommentService commentService;
+    @Autowired TaskActivityService activityService;
+    @Autowired TaskCounterRepair repair;
+    @Autowired JdbcTemplate jdbc;
+
+    @Test
+    void countsCommentsAndActivityAndSortsByIt() {
+        userService.create("counter-user", "pw", "USER");
+        User user = userService.findByUsername("counter-user").orElseThrow();
+        LocalDate today = LocalDate.now();
+        Task commented = taskService.create("Counter commented", null, List.of(user.getId()), today, today.plusDays(5));
+        Task logged = taskService.create("Counter logged", null, List.of(user.getId()), today, today.plusDays(5));
+
+        commentService.add(commented.getId(), user.getId(), "first");
+        commentService.add(commented.getId(), user.getId(), "second");
+        activityService.log(logged, user, "Status Update", "counted");
+
+        Task c = taskService.getById(commented.getId());
+        Task l = taskService.getById(logged.getId());
+        assertThat(c.getCommentCount()).isEqualTo(2);
+        assertThat(c.getActivityCount()).isZero();
+        assertThat(l.getCommentCount()).isZero();
+        assertThat(l.getActivityCount()).isEqualTo(1);
+        assertThat(l.getLastActivityAt()).isAfterOrEqualTo(c.getLastActivityAt());
+
+        // newest activity first, one task per page
+        TaskFilter byActivity = new TaskFilter(null, false, null, "Counter ", TaskSort.RECENT_ACTIVITY, false);
+        TaskPage first = taskService.findPage(byActivity, null, 1);
+        TaskPage second = taskService.findPage(byActivity, TaskCursor.decode(first.nextCursor()), 1);
+        assertThat(first.tasks()).extracting(Task::getId).containsExactly(logged.getId());
+        assertThat(second.tasks()).extracting(Task::getId).containsExactly(commented.getId());
+        assertThat(second.nextCursor()).isNull();
+
+        jdbc.update("update tasks set comment_count = 0, activity_count = 7 where id = ?", commented.getId());
+        assertThat(repair.run()).isPositive();
+        c = taskService.getById(commented.getId());
+        assertThat(c.getCommentCount()).isEqualTo(2);
+        assertThat(c.getActivityCount()).isZero();
+        assertThat(repair.run()).isZero();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.worknest;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.User;
+import com.example.worknest.security.WorkNestUserDetails;
+import com.example.worknest.service.TaskCursor;
+import com.example.worknest.service.TaskFilter;
+import com.example.worknest.service.TaskPage;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.TaskSort;
+import com.example.worknest.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset paging of the admin task list: walking the pages in either direction returns every
+ * task once in (dueDate, id) order, ties on the due date included, a cursor keeps pointing at
+ * the same position while tasks are added before it, and malformed parameters are a 400, on the
+ * task list and on the "load older" timeline pages of a user's task.
+ */
+@SpringBootTest(properties = "worknest.activity.write-mode=sync")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskPagingTests {
+
+    private static final int TASKS = 23;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired MockMvc mvc;
+    @Autowired UserService userService;
+    @Autowired TaskService taskService;
+
+    private final LocalDate today = LocalDate.now();
+    private final List<Task> tasks = new ArrayList<>();
+    private User assignee;
+    private RequestPostProcessor admin;
+
+    @BeforeAll
+    void seed() {
+        userService.create("paging-admin", "pw", "ADMIN");
+        userService.create("paging-user", "pw", "USER");
+        assignee = userService.findByUsername("paging-user").orElseThrow();
+        // four due dates only, so most pages start and end inside a run of ties
+        for (int t = 0; t < TASKS; t++) {
+            tasks.add(taskService.create("Paging task " + t, null, List.of(assignee.getId()),
+                    today.minusDays(10), today.plusDays(t % 4)));
+        }
+
+        User admin = userService.findByUsername("paging-admin").orElseThrow();
+        this.admin = user(new WorkNestUserDetails(admin.getId(), admin.getUsername(), "x", "ADMIN"));
+    }
+
+    @Test
+    void walksEveryTaskOnceInOrder() {
+        Comparator<Task> byDueDate = Comparator.comparing(Task::getDueDate).thenComparing(Task::getId);
+
+        assertThat(walk(false)).containsExactlyElementsOf(ids(tasks.stream().sorted(byDueDate).toList()));
+        assertThat(walk(true)).containsExactlyElementsOf(ids(tasks.stream().sorted(byDueDate.reversed()).toList()));
+    }
+
+    @Test
+    void cursorKeepsItsPositionWhenTasksAreAddedBeforeIt() {
+        TaskPage first = taskService.findPage(filter("Paging", false), null, PAGE_SIZE);
+        TaskCursor cursor = TaskCursor.decode(first.nextCursor());
+        List<Long> second = ids(taskService.findPage(filter("Paging", false), cursor, PAGE_SIZE).tasks());
+
+        // sorts before the cursor: on the first page now, not the second
+        taskService.create("Paging early", null, List.of(assignee.getId()), today.minusDays(10), today.minusDays(1));
+
+        assertThat(ids(taskService.findPage(filter("Paging", false), cursor, PAGE_SIZE).tasks()))
+                .containsExactlyElementsOf(second);
+        assertThat(taskService.findPage(filter("Paging", false), null, PAGE_SIZE).nextCursor())
+                .isNotEqualTo(first.nextCursor());
+    }
+
+    @Test
+    void rejectsMalformedParameters() throws Exception {
+        mvc.perform(get("/admin/tasks").param("status", "NOT_A_STATUS").with(admin))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/admin/tasks").param("after", "yesterday_1").with(admin))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/admin/tasks").param("after", today + "_").with(admin))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/admin/tasks").param("status", "pending").param("after", today + "_1").with(admin))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsMalformedTimelineCursors() throws Exception {
+        RequestPostProcessor user = user(new WorkNestUserDetails(assignee.getId(), assignee.getUsername(), "x", "USER"));
+        String task = "/user/tasks/" + tasks.get(0).getId();
+
+        for (String timeline : List.of("/activities", "/comments")) {
+            mvc.perform(get(task + timeline).param("after", "not-a-cursor").with(user))
+                    .andExpect(status().isBadRequest());
+            mvc.perform(get(task + timeline).param("after", today + "_1").with(user))
+                    .andExpect(status().isBadRequest());
+            mvc.perform(get(task + timeline).param("after", today.atStartOfDay() + "_1").with(user))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private List<Long> walk(boolean descending) {
+        TaskFilter filter = filter("Paging task", descending);
+        List<Long> seen = new ArrayList<>();
+        TaskCursor cursor = null;
+        do {
+            TaskPage page = taskService.findPage(filter, cursor, PAGE_SIZE);
+            assertThat(page.tasks()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            seen.addAll(ids(page.tasks()));
+            cursor = TaskCursor.decode(page.nextCursor());
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static TaskFilter filter(String title, boolean descending) {
+        return new TaskFilter(null, false, null, title, TaskSort.DUE_DATE, descending);
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
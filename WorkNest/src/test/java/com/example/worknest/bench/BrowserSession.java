@@ -0,0 +1,77 @@
+package com.example.worknest.bench;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.StringJoiner;
+
+/**
+ * One browser against a running app: its own cookie jar (so its own session) and no redirect
+ * following, since the 302 after a form POST is the answer. Bodies are read and discarded.
+ */
+final class BrowserSession {
+
+    /** One timed step of a benchmark: a request made through a session */
+    interface Request {
+        HttpResponse<Void> send() throws IOException, InterruptedException;
+    }
+
+    private final String baseUrl;
+    private final CookieManager cookies = new CookieManager();
+    private final HttpClient http;
+
+    BrowserSession(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /** Form login; throws if the app redirects back to the login page with an error */
+    HttpResponse<Void> login(String username, String password) throws IOException, InterruptedException {
+        cookies.getCookieStore().removeAll();
+        HttpResponse<Void> response = post("/login", "username", username, "password", password);
+        if (location(response).contains("error")) throw new IllegalStateException("Login failed for " + username);
+        return response;
+    }
+
+    HttpResponse<Void> logout() throws IOException, InterruptedException {
+        return post("/logout");
+    }
+
+    HttpResponse<Void> get(String path) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    /** POST an urlencoded form given as name, value pairs */
+    HttpResponse<Void> post(String path, String... params) throws IOException, InterruptedException {
+        StringJoiner form = new StringJoiner("&");
+        for (int i = 0; i + 1 < params.length; i += 2) {
+            form.add(URLEncoder.encode(params[i], StandardCharsets.UTF_8) + "="
+                    + URLEncoder.encode(params[i + 1], StandardCharsets.UTF_8));
+        }
+        return http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    /** Client or server error, or bounced to the login page (session lost) */
+    static boolean failed(HttpResponse<?> response) {
+        return response.statusCode() >= 400 || location(response).contains("/login");
+    }
+
+    private static String location(HttpResponse<?> response) {
+        return response.headers().firstValue("Location").orElse("");
+    }
+}
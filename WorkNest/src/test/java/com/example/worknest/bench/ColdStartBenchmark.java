@@ -0,0 +1,176 @@
+package com.example.worknest.bench;
+
+import com.example.worknest.WorkNestApplication;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.storage.DataSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start to ready on the file-backed storage of the "prod" profile with {@code bench.tasks}
+ * tasks (default 1,000,000), {@code bench.users} users and one comment and one activity entry
+ * per task.
+ *
+ * <p>The data is seeded with JDBC batches on the Flyway schema and dumped with
+ * {@link DataSnapshot}, without starting the application in this JVM. Then the
+ * application is started {@code bench.rounds} times in a fresh JVM ({@code bench.heap}), once on
+ * the existing database file and once on an empty one restored from the snapshot. Each start is
+ * timed from launching the JVM until {@code /actuator/health/readiness} answers, which is after
+ * the in-memory indexes have loaded. Files go to target/bench-storage.
+ * Run with {@code mvn -Pbench test -Dtest=ColdStartBenchmark}.
+ */
+@Tag("benchmark")
+class ColdStartBenchmark {
+
+    private static final int TASKS = Integer.getInteger("bench.tasks", 1_000_000);
+    private static final int USERS = Integer.getInteger("bench.users", 1_000);
+    private static final int ROUNDS = Integer.getInteger("bench.rounds", 1);
+    private static final String HEAP = System.getProperty("bench.heap", "2g");
+    private static final int CHUNK = 10_000;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final Path DIR = Path.of("target", "bench-storage").toAbsolutePath();
+    private static final Path DATABASE = DIR.resolve("db");
+    private static final Path SNAPSHOT = DIR.resolve("worknest.snapshot");
+
+    @Test
+    void coldStartToReady() throws Exception {
+        FileSystemUtils.deleteRecursively(DIR);
+        Files.createDirectories(DIR);
+        System.out.printf("BENCH cold-start tasks=%,d users=%,d heap=%s%n", TASKS, USERS, HEAP);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:file:" + DATABASE.resolve("worknest"), "sa", "password");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        try (Connection keepOpen = dataSource.getConnection()) { // H2 closes the file with the last connection
+            long start = System.nanoTime();
+            seed(new JdbcTemplate(dataSource));
+            System.out.printf("BENCH cold-start seed (JDBC batches)   %8.1f s%n", seconds(start));
+
+            start = System.nanoTime();
+            Map<String, Long> rows;
+            try (OutputStream out = Files.newOutputStream(SNAPSHOT)) {
+                rows = new DataSnapshot(dataSource).write(out);
+            }
+            System.out.printf("BENCH cold-start snapshot write        %8.1f s  %,d bytes (%.1f per task)  %s%n",
+                    seconds(start), Files.size(SNAPSHOT), (double) Files.size(SNAPSHOT) / TASKS, rows);
+        }
+        System.out.printf("BENCH cold-start database file                   %,d bytes%n", Files.size(databaseFile()));
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("BENCH cold-start ready, existing file   %8.1f s%n", startToReady());
+        }
+        for (int round = 1; round <= ROUNDS; round++) {
+            FileSystemUtils.deleteRecursively(DATABASE);
+            System.out.printf("BENCH cold-start ready, from snapshot   %8.1f s%n",
+                    startToReady("--worknest.storage.restore-from=" + SNAPSHOT));
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> users = new ArrayList<>();
+        for (int u = 1; u <= USERS; u++) {
+            users.add(new Object[]{u, "bench-" + u, "{noop}bench", "USER"});
+        }
+        jdbc.batchUpdate("insert into users (id, username, password, role) values (?, ?, ?, ?)", users);
+
+        for (int base = 1; base <= TASKS; base += CHUNK) {
+            List<Object[]> tasks = new ArrayList<>(CHUNK);
+            List<Object[]> assignees = new ArrayList<>(CHUNK * 2);
+            List<Object[]> timeline = new ArrayList<>(CHUNK);
+            for (int id = base; id < Math.min(base + CHUNK, TASKS + 1); id++) {
+                TaskStatus status = STATUSES[id % STATUSES.length];
+                LocalDate due = today.plusDays(random.nextInt(-10, 30));
+                tasks.add(new Object[]{id, "Task " + id, "Seeded task " + id, status.name(),
+                        today.minusDays(30), due, status.isOverdue(due, today)});
+                int user = id % USERS + 1;
+                assignees.add(new Object[]{id, user});
+                if (id % 3 == 0) assignees.add(new Object[]{id, user % USERS + 1});
+                timeline.add(new Object[]{id, id, user, now.minusMinutes(TASKS - id)});
+            }
+            jdbc.batchUpdate("insert into tasks (id, title, description, status, start_date, due_date, " +
+                    "frozen, deleted, overdue, version) values (?, ?, ?, ?, ?, ?, false, false, ?, 0)", tasks);
+            jdbc.batchUpdate("insert into task_assignees (task_id, user_id) values (?, ?)", assignees);
+            jdbc.batchUpdate("insert into task_comments (id, task_id, author_id, content, created_at) " +
+                    "values (?, ?, ?, 'Seeded comment', ?)", timeline);
+            jdbc.batchUpdate("insert into task_activity (id, task_id, performed_by_id, action, details, created_at) " +
+                    "values (?, ?, ?, 'Task Created', 'Seeded', ?)", timeline);
+        }
+        for (String sequence : List.of("users_seq", "tasks_seq", "task_comments_seq", "task_activity_seq")) {
+            jdbc.execute("alter sequence " + sequence + " restart with " + (Math.max(TASKS, USERS) + 1));
+        }
+    }
+
+    /** Seconds from launching a new JVM with the application until it reports ready */
+    private static double startToReady(String... args) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"), "-Xmx" + HEAP,
+                "-cp", System.getProperty("java.class.path"), WorkNestApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.profiles.active=prod",
+                "--worknest.storage.dir=" + DATABASE,
+                "--management.endpoint.health.probes.enabled=true",
+                // the seeded tasks never had reminders, so the first sweep would send tens of thousands
+                "--worknest.due-dates.reminder-days=-1",
+                "--logging.level.root=WARN"));
+        command.addAll(List.of(args));
+        Path log = DIR.resolve("app.log");
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest ready = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness")).build();
+
+        long start = System.nanoTime();
+        Process app = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (true) {
+                if (!app.isAlive()) throw new IllegalStateException("Application exited with " + app.exitValue() + ", see " + log);
+                try {
+                    if (http.send(ready, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return seconds(start);
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(50);
+            }
+        } finally {
+            app.destroy(); // graceful, so H2 closes (and compacts) the database file
+            if (!app.waitFor(2, TimeUnit.MINUTES)) app.destroyForcibly().waitFor();
+        }
+    }
+
+    private static Path databaseFile() {
+        return DATABASE.resolve("worknest.mv.db");
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+}
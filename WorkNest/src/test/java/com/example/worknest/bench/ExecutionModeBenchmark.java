@@ -0,0 +1,188 @@
+package com.example.worknest.bench;
+
+import com.example.worknest.WorkNestApplication;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.model.User;
+import com.example.worknest.service.TaskService;
+import com.example.worknest.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Platform versus virtual request threads under {@code bench.clients} concurrent logged-in users
+ * (default 400), each looping "open the dashboard, change a task's status" for
+ * {@code bench.seconds} (default 20) after a warm-up. The application is started twice on a
+ * random port: once on Tomcat's pool of {@code bench.tomcat-threads} platform threads, once with
+ * the "virtual" settings (virtual threads plus the database permit gate). Both runs use the same
+ * Hikari pool, so the difference is how waiting requests are parked.
+ * Needs Java 21; run with {@code mvn -Pbench test -Dtest=ExecutionModeBenchmark}.
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ExecutionModeBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("bench.clients", 400);
+    private static final int TASKS_PER_CLIENT = Integer.getInteger("bench.tasks-per-client", 20);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmup-seconds", 5);
+    private static final int TOMCAT_THREADS = Integer.getInteger("bench.tomcat-threads", 200);
+    private static final String PASSWORD = "bench";
+
+    @Test
+    void platformVersusVirtual() throws Exception {
+        run("platform", false);
+        run("virtual", true);
+    }
+
+    private void run(String mode, boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(WorkNestApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + mode,
+                        "spring.jpa.show-sql=false",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "worknest.db.concurrency-limit.enabled=" + virtual)
+                .run()) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            List<Client> clients = seed(app, port);
+
+            Stats warmup = drive(clients, WARMUP_SECONDS);
+            Stats measured = drive(clients, SECONDS);
+            System.out.printf("BENCH exec-mode %-8s clients=%d warm-up errors=%d%n", mode, CLIENTS, warmup.errors.get());
+            measured.print(mode, "dashboard", measured.dashboard);
+            measured.print(mode, "status", measured.status);
+        }
+    }
+
+    private List<Client> seed(ConfigurableApplicationContext app, int port) throws Exception {
+        UserService users = app.getBean(UserService.class);
+        TaskService tasks = app.getBean(TaskService.class);
+        LocalDate today = LocalDate.now();
+
+        List<Client> clients = new ArrayList<>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            String username = "bench-" + c;
+            users.create(username, PASSWORD, "USER");
+            User user = users.findByUsername(username).orElseThrow();
+            long[] taskIds = new long[TASKS_PER_CLIENT];
+            for (int t = 0; t < TASKS_PER_CLIENT; t++) {
+                taskIds[t] = tasks.create("Task " + c + "-" + t, "benchmark task", List.of(user.getId()),
+                        today, today.plusDays(t % 3 == 0 ? -1 : 7)).getId();
+            }
+            Client client = new Client("http://localhost:" + port, taskIds);
+            client.login(username);
+            clients.add(client);
+        }
+        return clients;
+    }
+
+    private static Stats drive(List<Client> clients, int seconds) throws InterruptedException {
+        Stats stats = new Stats(seconds);
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        CountDownLatch done = new CountDownLatch(clients.size());
+        for (Client client : clients) {
+            Thread t = new Thread(() -> {
+                try {
+                    client.loop(deadline, stats);
+                } finally {
+                    done.countDown();
+                }
+            });
+            t.setDaemon(true);
+            t.start();
+        }
+        done.await();
+        return stats;
+    }
+
+    private static final class Client {
+
+        private final BrowserSession browser;
+        private final long[] taskIds;
+        private int next;
+
+        Client(String baseUrl, long[] taskIds) {
+            this.browser = new BrowserSession(baseUrl);
+            this.taskIds = taskIds;
+        }
+
+        void login(String username) throws IOException, InterruptedException {
+            browser.login(username, PASSWORD);
+        }
+
+        void loop(long deadline, Stats stats) {
+            while (System.nanoTime() < deadline) {
+                long taskId = taskIds[next++ % taskIds.length];
+                TaskStatus status = next % 2 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.PENDING;
+                time(stats, stats.dashboard, () -> browser.get("/user/dashboard"));
+                time(stats, stats.status, () -> browser.post("/user/tasks/" + taskId + "/status", "status", status.name()));
+            }
+        }
+
+        private void time(Stats stats, Latencies latencies, BrowserSession.Request request) {
+            long t0 = System.nanoTime();
+            try {
+                if (BrowserSession.failed(request.send())) stats.errors.incrementAndGet();
+                latencies.add((System.nanoTime() - t0) / 1_000);
+            } catch (IOException e) {
+                stats.errors.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Stats {
+
+        final int seconds;
+        final Latencies dashboard = new Latencies();
+        final Latencies status = new Latencies();
+        final AtomicLong errors = new AtomicLong();
+
+        Stats(int seconds) {
+            this.seconds = seconds;
+        }
+
+        void print(String mode, String flow, Latencies latencies) {
+            long[] micros = latencies.sorted();
+            if (micros.length == 0) {
+                System.out.printf("BENCH exec-mode %-8s %-9s no completed requests, errors=%d%n", mode, flow, errors.get());
+                return;
+            }
+            System.out.printf("BENCH exec-mode %-8s %-9s %,8.0f req/s  p50=%,7d us  p99=%,8d us  max=%,8d us  errors=%d%n",
+                    mode, flow, (double) micros.length / seconds,
+                    micros[micros.length / 2], micros[micros.length * 99 / 100], micros[micros.length - 1], errors.get());
+        }
+    }
+
+    private static final class Latencies {
+
+        private long[] micros = new long[1 << 16];
+        private int size;
+
+        synchronized void add(long value) {
+            if (size == micros.length) micros = Arrays.copyOf(micros, size * 2);
+            micros[size++] = value;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(micros, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.worknest.bench;
+
+import com.example.worknest.WorkNestApplication;
+import com.example.worknest.model.TaskStatus;
+import com.example.worknest.model.User;
+import com.example.worknest.repository.UserRepository;
+import com.example.worknest.service.TaskService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load through the whole stack (form login, sessions, Thymeleaf, JPA) against the app
+ * started on a random port and seeded with {@code bench.seed-tasks} tasks.
+ *
+ * <p>{@code bench.users} user and {@code bench.admins} admin virtual users each have their own
+ * account and repeat their journey in a closed loop for {@code bench.seconds} after
+ * {@code bench.warmup-seconds}, pausing {@code bench.think-ms} between steps:
+ * <ul>
+ *   <li>user: login, dashboard, one of their tasks, status update, comment, logout</li>
+ *   <li>admin: login, dashboard, task list, freeze and unfreeze the same task, logout</li>
+ * </ul>
+ * Latencies go into one HdrHistogram per step and per journey. The summary is printed and written
+ * to {@code bench.report-dir} (default target/load-report) together with each histogram's
+ * percentile distribution (.hgrm, plottable with HdrHistogram's plotter).
+ * Run with {@code mvn -Pbench test -Dtest=HttpLoadBenchmark}.
+ */
+@Tag("benchmark")
+class HttpLoadBenchmark {
+
+    private static final int USERS = Integer.getInteger("bench.users", 50);
+    private static final int ADMINS = Integer.getInteger("bench.admins", 5);
+    private static final int SEED_TASKS = Integer.getInteger("bench.seed-tasks", 5_000);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmup-seconds", 10);
+    private static final int THINK_MS = Integer.getInteger("bench.think-ms", 0);
+    private static final Path REPORT_DIR = Path.of(System.getProperty("bench.report-dir", "target/load-report"));
+    private static final String PASSWORD = "bench";
+    private static final TaskStatus[] STATUSES = {TaskStatus.PENDING, TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED};
+
+    @Test
+    void journeys() throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(WorkNestApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-load",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            List<VirtualUser> population = seed(app, baseUrl);
+
+            run(population, WARMUP_SECONDS);
+            Report report = run(population, SECONDS);
+            report.write();
+        }
+    }
+
+    /** Accounts share one password hash so seeding does not spend minutes in BCrypt */
+    private List<VirtualUser> seed(ConfigurableApplicationContext app, String baseUrl) {
+        UserRepository userRepo = app.getBean(UserRepository.class);
+        TaskService tasks = app.getBean(TaskService.class);
+        String hash = app.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int u = 0; u < USERS; u++) {
+            users.add(userRepo.save(User.builder().username("load-user-" + u).password(hash).role("USER").build()));
+        }
+        List<User> admins = new ArrayList<>(ADMINS);
+        for (int a = 0; a < ADMINS; a++) {
+            admins.add(userRepo.save(User.builder().username("load-admin-" + a).password(hash).role("ADMIN").build()));
+        }
+
+        LocalDate today = LocalDate.now();
+        List<List<Long>> tasksByUser = new ArrayList<>(USERS);
+        for (int u = 0; u < USERS; u++) tasksByUser.add(new ArrayList<>());
+        long[] allTasks = new long[SEED_TASKS];
+        for (int t = 0; t < SEED_TASKS; t++) {
+            int owner = t % USERS;
+            allTasks[t] = tasks.create("Load task " + t, "Seeded for HttpLoadBenchmark", List.of(users.get(owner).getId()),
+                    today.minusDays(14), today.plusDays(t % 40 - 10)).getId();
+            tasksByUser.get(owner).add(allTasks[t]);
+        }
+
+        List<VirtualUser> population = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            long[] own = tasksByUser.get(u).stream().mapToLong(Long::longValue).toArray();
+            population.add(new VirtualUser(baseUrl, users.get(u).getUsername(), false, own, u));
+        }
+        for (int a = 0; a < ADMINS; a++) {
+            population.add(new VirtualUser(baseUrl, admins.get(a).getUsername(), true, allTasks, USERS + a));
+        }
+        return population;
+    }
+
+    private static Report run(List<VirtualUser> population, int seconds) throws InterruptedException {
+        Report report = new Report(population.size(), seconds);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(population.size());
+        for (VirtualUser vu : population) {
+            Thread t = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) vu.journey(report);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + vu.username);
+            t.setDaemon(true);
+            t.start();
+        }
+        done.await();
+        return report;
+    }
+
+    private static final class VirtualUser {
+
+        private final BrowserSession browser;
+        private final String username;
+        private final boolean admin;
+        private final long[] taskIds;
+        private final SplittableRandom random;
+
+        VirtualUser(String baseUrl, String username, boolean admin, long[] taskIds, long seed) {
+            this.browser = new BrowserSession(baseUrl);
+            this.username = username;
+            this.admin = admin;
+            this.taskIds = taskIds;
+            this.random = new SplittableRandom(seed);
+        }
+
+        void journey(Report report) throws InterruptedException {
+            long start = System.nanoTime();
+            boolean ok = admin ? adminJourney(report) : userJourney(report);
+            report.record(admin ? "admin journey" : "user journey", start, ok);
+        }
+
+        private boolean userJourney(Report report) throws InterruptedException {
+            long taskId = taskIds[random.nextInt(taskIds.length)];
+            TaskStatus status = STATUSES[random.nextInt(STATUSES.length)];
+            return step(report, "user login", () -> browser.login(username, PASSWORD))
+                    && step(report, "user dashboard", () -> browser.get("/user/dashboard"))
+                    && step(report, "user task", () -> browser.get("/user/tasks/" + taskId))
+                    && step(report, "user status", () -> browser.post("/user/tasks/" + taskId + "/status", "status", status.name()))
+                    && step(report, "user comment", () -> browser.post("/user/tasks/" + taskId + "/comments", "content", "Load comment from " + username))
+                    && logout(report, "user logout");
+        }
+
+        private boolean adminJourney(Report report) throws InterruptedException {
+            long taskId = taskIds[random.nextInt(taskIds.length)];
+            return step(report, "admin login", () -> browser.login(username, PASSWORD))
+                    && step(report, "admin dashboard", () -> browser.get("/admin/dashboard"))
+                    && step(report, "admin tasks", () -> browser.get("/admin/tasks"))
+                    // the endpoint toggles, so the second call puts the task back as it was
+                    && step(report, "admin freeze", () -> browser.post("/admin/tasks/" + taskId + "/freeze"))
+                    && step(report, "admin unfreeze", () -> browser.post("/admin/tasks/" + taskId + "/freeze"))
+                    && logout(report, "admin logout");
+        }
+
+        private boolean step(Report report, String name, BrowserSession.Request request) throws InterruptedException {
+            if (THINK_MS > 0) Thread.sleep(THINK_MS);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = !BrowserSession.failed(request.send());
+            } catch (IOException | IllegalStateException e) {
+                ok = false;
+            }
+            report.record(name, start, ok);
+            return ok;
+        }
+
+        // logging out redirects to the login page, which is the expected outcome here
+        private boolean logout(Report report, String name) throws InterruptedException {
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = browser.logout().statusCode() < 400;
+            } catch (IOException e) {
+                ok = false;
+            }
+            report.record(name, start, ok);
+            return ok;
+        }
+    }
+
+    /** Microsecond histograms per step and journey, in first-seen order */
+    private static final class Report {
+
+        private final int virtualUsers;
+        private final int seconds;
+        private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+        private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+
+        Report(int virtualUsers, int seconds) {
+            this.virtualUsers = virtualUsers;
+            this.seconds = seconds;
+        }
+
+        /** Latency of a successful request or journey; failures are only counted */
+        void record(String name, long startNanos, boolean ok) {
+            long micros = (System.nanoTime() - startNanos) / 1_000;
+            Histogram histogram;
+            AtomicLong failures;
+            synchronized (this) {
+                histogram = latencies.computeIfAbsent(name, k -> new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3));
+                failures = errors.computeIfAbsent(name, k -> new AtomicLong());
+            }
+            if (ok) histogram.recordValue(Math.min(micros, histogram.getHighestTrackableValue()));
+            else failures.incrementAndGet();
+        }
+
+        synchronized void write() throws IOException {
+            Files.createDirectories(REPORT_DIR);
+            StringBuilder summary = new StringBuilder();
+            summary.append(String.format("virtual users=%d (admins=%d) seed tasks=%d duration=%ds think=%dms%n",
+                    virtualUsers, ADMINS, SEED_TASKS, seconds, THINK_MS));
+            summary.append(String.format("%-16s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+                    "step", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors"));
+            for (Map.Entry<String, Histogram> e : latencies.entrySet()) {
+                Histogram h = e.getValue();
+                summary.append(String.format("%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                        e.getKey(), h.getTotalCount(), (double) h.getTotalCount() / seconds,
+                        ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                        ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()),
+                        errors.get(e.getKey()).get()));
+
+                try (PrintStream out = new PrintStream(Files.newOutputStream(
+                        REPORT_DIR.resolve(e.getKey().replace(' ', '-') + ".hgrm")))) {
+                    h.outputPercentileDistribution(out, 1000.0); // in milliseconds
+                }
+            }
+            Files.writeString(REPORT_DIR.resolve("summary.txt"), summary);
+            System.out.print("BENCH load\n" + summary);
+        }
+
+        private static double ms(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
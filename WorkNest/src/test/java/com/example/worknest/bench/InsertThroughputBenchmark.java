@@ -0,0 +1,92 @@
+package com.example.worknest.bench;
+
+import com.example.worknest.model.Task;
+import com.example.worknest.model.TaskActivity;
+import com.example.worknest.model.TaskComment;
+import com.example.worknest.model.User;
+import com.example.worknest.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Insert throughput through JPA for tasks, comments and activities, in chunks of
+ * {@code bench.chunk} rows per flush. Run with {@code mvn -Pbench test}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class InsertThroughputBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 20_000);
+    private static final int CHUNK = Integer.getInteger("bench.chunk", 500);
+    private static final int ROUNDS = Integer.getInteger("bench.rounds", 3);
+
+    @Autowired TransactionTemplate tx;
+    @Autowired EntityManager em;
+    @Autowired UserRepository userRepo;
+
+    @Test
+    void insertThroughput() {
+        User author = userRepo.save(User.builder().username("bench-author").password("x").role("USER").build());
+        Long taskId = tx.execute(s -> {
+            Task t = newTask(0, author);
+            em.persist(t);
+            return t.getId();
+        });
+
+        report("tasks", i -> em.persist(newTask(i, em.getReference(User.class, author.getId()))));
+        report("comments", i -> em.persist(TaskComment.builder()
+                .task(em.getReference(Task.class, taskId))
+                .author(em.getReference(User.class, author.getId()))
+                .content("comment " + i)
+                .build()));
+        report("activities", i -> em.persist(TaskActivity.builder()
+                .task(em.getReference(Task.class, taskId))
+                .performedBy(em.getReference(User.class, author.getId()))
+                .action("Bench")
+                .details("activity " + i)
+                .createdAt(LocalDateTime.now())
+                .build()));
+    }
+
+    private void report(String name, IntConsumer insertRow) {
+        List<Double> rates = new ArrayList<>();
+        for (int round = 0; round <= ROUNDS; round++) { // round 0 is warm-up
+            long start = System.nanoTime();
+            for (int base = 0; base < ROWS; base += CHUNK) {
+                int from = base;
+                tx.executeWithoutResult(s -> {
+                    for (int i = from; i < Math.min(from + CHUNK, ROWS); i++) insertRow.accept(i);
+                    em.flush();
+                    em.clear();
+                });
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            if (round > 0) rates.add(ROWS / seconds);
+        }
+        System.out.printf("BENCH insert %-10s rows=%d chunk=%d  best=%,.0f rows/s  mean=%,.0f rows/s%n",
+                name, ROWS, CHUNK,
+                rates.stream().mapToDouble(Double::doubleValue).max().orElse(0),
+                rates.stream().mapToDouble(Double::doubleValue).average().orElse(0));
+    }
+
+    private static Task newTask(int i, User assignee) {
+        return Task.builder()
+                .title("Bench task " + i)
+                .description("Generated by InsertThroughputBenchmark")
+                .startDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(i % 30))
+                .assignees(Set.of(assignee))
+                .build();
+    }
+}
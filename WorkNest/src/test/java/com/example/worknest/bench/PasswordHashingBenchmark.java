@@ -0,0 +1,88 @@
+package com.example.worknest.bench;
+
+import com.example.worknest.security.BoundedPasswordEncoder;
+import com.example.worknest.security.PasswordHashingBusyException;
+import com.example.worknest.security.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logins per second each BCrypt cost in {@code bench.costs} (default 8,10,12) allows: a burst of
+ * {@code bench.callers} concurrent logins (default 200) verifies passwords for
+ * {@code bench.seconds} through the same bounded encoder the application uses
+ * ({@code bench.threads} hashing threads, 0 = half the cores, and the default queue and timeout).
+ * Reports throughput, latency including the queue wait, and logins turned away as busy; a caller
+ * that is turned away retries after {@code bench.retry-ms}.
+ * Run with {@code mvn -Pbench test -Dtest=PasswordHashingBenchmark}.
+ */
+@Tag("benchmark")
+class PasswordHashingBenchmark {
+
+    private static final int[] COSTS = Arrays.stream(System.getProperty("bench.costs", "8,10,12").split(","))
+            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    private static final int CALLERS = Integer.getInteger("bench.callers", 200);
+    private static final int THREADS = Integer.getInteger("bench.threads", 0);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final int RETRY_MS = Integer.getInteger("bench.retry-ms", 100);
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Test
+    void loginsPerCost() throws Exception {
+        int threads = THREADS > 0 ? THREADS : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        System.out.printf("BENCH password callers=%d hashing threads=%d duration=%ds%n", CALLERS, threads, SECONDS);
+        for (int cost : COSTS) {
+            BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(SecurityConfig.delegatingPasswordEncoder(cost),
+                    threads, 200, Duration.ofSeconds(10), new SimpleMeterRegistry());
+            try {
+                run(cost, encoder);
+            } finally {
+                encoder.shutdown();
+            }
+        }
+    }
+
+    private static void run(int cost, BoundedPasswordEncoder encoder) throws InterruptedException {
+        String hash = encoder.encode(PASSWORD);
+        Histogram micros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        AtomicLong busy = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        CountDownLatch done = new CountDownLatch(CALLERS);
+        for (int c = 0; c < CALLERS; c++) {
+            Thread t = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            if (!encoder.matches(PASSWORD, hash)) throw new IllegalStateException("password did not match");
+                            micros.recordValue(Math.min((System.nanoTime() - start) / 1_000, micros.getHighestTrackableValue()));
+                        } catch (PasswordHashingBusyException e) {
+                            busy.incrementAndGet();
+                            Thread.sleep(RETRY_MS);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "login-" + c);
+            t.setDaemon(true);
+            t.start();
+        }
+        done.await();
+
+        System.out.printf("BENCH password cost=%-2d %8.1f logins/s  p50=%8.2f ms  p99=%8.2f ms  max=%8.2f ms  busy=%d%n",
+                cost, (double) micros.getTotalCount() / SECONDS,
+                micros.getValueAtPercentile(50) / 1000.0, micros.getValueAtPercentile(99) / 1000.0,
+                micros.getMaxValue() / 1000.0, busy.get());
+    }
+}
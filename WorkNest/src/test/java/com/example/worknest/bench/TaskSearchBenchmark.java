@@ -0,0 +1,111 @@
+package com.example.worknest.bench;
+
+import com.example.worknest.search.SearchResults;
+import com.example.worknest.search.TaskSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.LongPredicate;
+
+/**
+ * Query latency of {@link TaskSearchIndex} over {@code bench.tasks} tasks (default 100k) and
+ * {@code bench.comments} comments (default 1M) of Zipf-distributed synthetic words, as an admin
+ * (sees everything) and as a user assigned to 1 in {@code bench.users} tasks.
+ * Run with {@code mvn -Pbench test -Dtest=TaskSearchBenchmark}.
+ */
+@Tag("benchmark")
+class TaskSearchBenchmark {
+
+    private static final int TASKS = Integer.getInteger("bench.tasks", 100_000);
+    private static final int COMMENTS = Integer.getInteger("bench.comments", 1_000_000);
+    private static final int USERS = Integer.getInteger("bench.users", 200);
+    private static final int VOCABULARY = 20_000;
+    private static final int QUERIES = Integer.getInteger("bench.queries", 2_000);
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final double[] zipf = zipfCdf(VOCABULARY);
+
+    @Test
+    void queryLatency() {
+        TaskSearchIndex index = new TaskSearchIndex();
+
+        // same order as the startup load: tasks by id, then comments by task
+        long start = System.nanoTime();
+        for (int t = 1; t <= TASKS; t++) {
+            index.addTask(t, words(6), words(25), false);
+        }
+        int[] commentTasks = random.ints(COMMENTS, 1, TASKS + 1).sorted().toArray();
+        for (int c = 0; c < COMMENTS; c++) {
+            index.addComment(commentTasks[c], words(12));
+        }
+        System.out.printf("BENCH search build (incl. text generation) tasks=%,d comments=%,d terms=%,d  %,d ms  ~%,d MiB%n",
+                TASKS, COMMENTS, index.termCount(), (System.nanoTime() - start) / 1_000_000,
+                index.footprintBytes() >> 20);
+
+        // live updates: comments on random existing tasks land in the middle of posting lists
+        long[] micros = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String text = words(12);
+            long t0 = System.nanoTime();
+            index.addComment(1 + random.nextInt(TASKS), text);
+            micros[i] = (System.nanoTime() - t0) / 1_000;
+        }
+        Arrays.sort(micros);
+        System.out.printf("BENCH search add-comment  p50=%,6d us  p99=%,6d us  max=%,6d us%n",
+                micros[QUERIES / 2], micros[QUERIES * 99 / 100], micros[QUERIES - 1]);
+
+        Map<String, String> shapes = new LinkedHashMap<>();
+        shapes.put("common", word(3));
+        shapes.put("mid", word(300));
+        shapes.put("rare", word(8_000));
+        shapes.put("common+mid", word(3) + " " + word(300));
+        shapes.put("three-terms", word(10) + " " + word(50) + " " + word(200));
+
+        LongPredicate admin = id -> true;
+        LongPredicate user = id -> id % USERS == 7;
+        for (Map.Entry<String, String> shape : shapes.entrySet()) {
+            measure("admin", shape.getKey(), shape.getValue(), index, admin);
+            measure("user", shape.getKey(), shape.getValue(), index, user);
+        }
+    }
+
+    private void measure(String caller, String shape, String query, TaskSearchIndex index, LongPredicate visible) {
+        for (int i = 0; i < QUERIES / 4; i++) index.search(query, visible, 0, 20); // warm-up
+
+        long[] micros = new long[QUERIES];
+        SearchResults last = null;
+        for (int i = 0; i < QUERIES; i++) {
+            long t0 = System.nanoTime();
+            last = index.search(query, visible, (i % 5) * 20, 20); // first five pages
+            micros[i] = (System.nanoTime() - t0) / 1_000;
+        }
+        Arrays.sort(micros);
+        System.out.printf("BENCH search %-5s %-11s hits=%,7d  p50=%,6d us  p99=%,6d us  max=%,6d us%n",
+                caller, shape, last.total(), micros[QUERIES / 2], micros[QUERIES * 99 / 100], micros[QUERIES - 1]);
+    }
+
+    private String words(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            int rank = Arrays.binarySearch(zipf, random.nextDouble());
+            sb.append(word(rank < 0 ? -rank - 1 : rank)).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static String word(int rank) {
+        return "w" + Integer.toString(rank, 36);
+    }
+
+    private static double[] zipfCdf(int n) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) cdf[i] = sum += 1.0 / (i + 1);
+        for (int i = 0; i < n; i++) cdf[i] /= sum;
+        return cdf;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.worknest.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two instances, each with its own {@link CachingSessionRepository}, sharing one session store:
+ * changes made on one instance show on the other within the cache TTL, a logout is never undone
+ * by the other instance's cached copy, and the per-user session limit sees every instance.
+ */
+class CachingSessionRepositoryTests {
+
+    private static final Duration TTL = Duration.ofSeconds(1);
+
+    private EmbeddedDatabase db;
+    private CachingSessionRepository<?> a;
+    private CachingSessionRepository<?> b;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/migration/V4__spring_session.sql")
+                .build();
+        a = instance();
+        b = instance();
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void changesFromAnotherInstanceShowAfterTheTtl() throws InterruptedException {
+        String id = login(a, "alice");
+        assertThat(attribute(b, id)).isEqualTo(1);
+
+        update(a, id, 2);
+        assertThat(attribute(a, id)).isEqualTo(2);
+        assertThat(attribute(b, id)).isEqualTo(1); // still b's cached copy
+
+        pastTtl();
+        assertThat(attribute(b, id)).isEqualTo(2);
+    }
+
+    @Test
+    void logoutIsNotUndoneByAnotherInstance() {
+        String id = login(a, "alice");
+        attribute(b, id);
+        // a request on b, served from b's cache and still in flight while the user logs out on a
+        CachingSessionRepository<?>.CachedSession inFlight = b.findById(id);
+
+        a.deleteById(id);
+        assertThat(a.findById(id)).isNull();
+
+        inFlight.setAttribute("n", 2);
+        save(b, inFlight);
+        assertThat(storedSessions()).isZero();
+        assertThat(b.findById(id)).isNull();
+    }
+
+    @Test
+    void sessionLimitSeesSessionsOfAllInstances() throws InterruptedException {
+        String first = login(a, "alice");
+        String second = login(b, "alice");
+        SessionRegistry registryA = new SpringSessionBackedSessionRegistry<>(a);
+        SessionRegistry registryB = new SpringSessionBackedSessionRegistry<>(b);
+
+        List<SessionInformation> sessions = registryB.getAllSessions("alice", false);
+        assertThat(sessions).extracting(SessionInformation::getSessionId).containsExactlyInAnyOrder(first, second);
+
+        // what a login over the limit on b does to the session on a
+        sessions.stream().filter(s -> s.getSessionId().equals(first)).findFirst().orElseThrow().expireNow();
+        assertThat(registryB.getAllSessions("alice", false))
+                .extracting(SessionInformation::getSessionId).containsExactly(second);
+
+        pastTtl();
+        assertThat(registryA.getSessionInformation(first).isExpired()).isTrue();
+        assertThat(registryA.getSessionInformation(second).isExpired()).isFalse();
+    }
+
+    private CachingSessionRepository<?> instance() {
+        JdbcIndexedSessionRepository jdbc = new JdbcIndexedSessionRepository(
+                new JdbcTemplate(db), new TransactionTemplate(new DataSourceTransactionManager(db)));
+        return new CachingSessionRepository<>(jdbc, TTL, 100, Duration.ofMinutes(1));
+    }
+
+    private static <S extends Session> String login(FindByIndexNameSessionRepository<S> sessions, String username) {
+        S session = sessions.createSession();
+        session.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, username);
+        session.setAttribute("n", 1);
+        sessions.save(session);
+        return session.getId();
+    }
+
+    private static <S extends Session> void update(FindByIndexNameSessionRepository<S> sessions, String id, int n) {
+        S session = sessions.findById(id);
+        session.setAttribute("n", n);
+        sessions.save(session);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S extends Session> void save(FindByIndexNameSessionRepository<S> sessions, Session session) {
+        sessions.save((S) session);
+    }
+
+    private static Object attribute(FindByIndexNameSessionRepository<?> sessions, String id) {
+        Session session = sessions.findById(id);
+        return session == null ? null : session.getAttribute("n");
+    }
+
+    private int storedSessions() {
+        return new JdbcTemplate(db).queryForObject("select count(*) from spring_session", Integer.class);
+    }
+
+    private static void pastTtl() throws InterruptedException {
+        Thread.sleep(TTL.toMillis() + 100);
+    }
+}
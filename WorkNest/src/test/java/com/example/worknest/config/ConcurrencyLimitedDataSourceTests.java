@@ -0,0 +1,108 @@
+package com.example.worknest.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Permits of {@link ConcurrencyLimitedDataSource} always come back: when the pool fails to hand
+ * out a connection, and exactly once however often a connection is closed. A caller that finds
+ * no permit within the timeout fails without taking one.
+ */
+class ConcurrencyLimitedDataSourceTests {
+
+    private EmbeddedDatabase db;
+    private FlakyDataSource target;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        target = new FlakyDataSource(db);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void releasesThePermitWhenThePoolFails() throws SQLException {
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(50));
+
+        target.failing = true;
+        assertThatThrownBy(limited::getConnection).isInstanceOf(SQLException.class).hasMessage("pool is down");
+        assertThatThrownBy(() -> limited.getConnection("sa", "")).isInstanceOf(SQLException.class);
+        assertThat(limited.getAvailablePermits()).isEqualTo(1);
+
+        target.failing = false;
+        try (Connection c = limited.getConnection()) {
+            assertThat(c.isValid(1)).isTrue();
+            assertThat(limited.getAvailablePermits()).isZero();
+        }
+        assertThat(limited.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void closingTwiceReleasesOnce() throws SQLException {
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(50));
+
+        Connection first = limited.getConnection();
+        Connection second = limited.getConnection();
+        first.close();
+        first.close();
+        assertThat(first.isClosed()).isTrue();
+        assertThat(limited.getAvailablePermits()).isEqualTo(1);
+
+        second.close();
+        assertThat(limited.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void timesOutWithoutTakingAPermit() throws SQLException {
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(50));
+
+        try (Connection held = limited.getConnection()) {
+            assertThatThrownBy(limited::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+            assertThat(limited.getAvailablePermits()).isZero();
+        }
+        assertThat(limited.getAvailablePermits()).isEqualTo(1);
+    }
+
+    /** The real database, or an exception while {@code failing} is set */
+    private static final class FlakyDataSource extends AbstractDataSource {
+
+        private final EmbeddedDatabase db;
+        volatile boolean failing;
+
+        FlakyDataSource(EmbeddedDatabase db) {
+            this.db = db;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) throw new SQLException("pool is down");
+            return db.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            if (failing) throw new SQLException("pool is down");
+            return db.getConnection(username, password);
+        }
+    }
+}
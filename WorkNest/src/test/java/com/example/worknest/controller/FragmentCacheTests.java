@@ -0,0 +1,105 @@
+package com.example.worknest.controller;
+
+import com.example.worknest.event.TaskChangedEvent;
+import com.example.worknest.service.DataVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fragments are served from the cache until the data version moves, a fragment rendered while
+ * it moved is not kept, and the least recently used entries go once max-bytes is exceeded.
+ */
+class FragmentCacheTests {
+
+    // each entry weighs two bytes per character of "t::f|kN" plus "html-x"
+    private static final int ENTRY_BYTES = 2 * (7 + 6);
+
+    private final DataVersion dataVersion = new DataVersion();
+    private final ITemplateEngine engine = mock(ITemplateEngine.class);
+    private int renders;
+
+    @BeforeEach
+    void setUp() {
+        when(engine.process(anyString(), anySet(), any(IContext.class)))
+                .thenAnswer(inv -> "html-" + (char) ('a' + renders - 1));
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void servesHitsUntilTheDataVersionMoves() {
+        FragmentCache cache = cache(1 << 20);
+
+        assertThat(render(cache, "k1")).isEqualTo("html-a");
+        assertThat(render(cache, "k1")).isEqualTo("html-a");
+        assertThat(renders).isEqualTo(1);
+
+        dataVersion.onTaskChanged(new TaskChangedEvent(1L, null, null));
+        assertThat(render(cache, "k1")).isEqualTo("html-b");
+        assertThat(renders).isEqualTo(2);
+    }
+
+    @Test
+    void dropsAFragmentRenderedWhileTheVersionMoved() {
+        FragmentCache cache = cache(1 << 20);
+
+        cache.render("t", "f", "k1", vars -> {
+            renders++;
+            dataVersion.onTaskChanged(new TaskChangedEvent(1L, null, null)); // commit during the render
+        });
+        render(cache, "k1");
+        assertThat(renders).isEqualTo(2);
+        render(cache, "k1");
+        assertThat(renders).isEqualTo(2);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryBeyondMaxBytes() {
+        FragmentCache cache = cache(2 * ENTRY_BYTES);
+
+        render(cache, "k1");
+        render(cache, "k2");
+        render(cache, "k1"); // k2 is now the eldest
+        render(cache, "k3");
+        assertThat(renders).isEqualTo(3);
+
+        render(cache, "k1");
+        render(cache, "k3");
+        assertThat(renders).isEqualTo(3);
+        render(cache, "k2");
+        assertThat(renders).isEqualTo(4);
+    }
+
+    private FragmentCache cache(long maxBytes) {
+        return new FragmentCache(engine, new MockServletContext(), dataVersion, new SimpleMeterRegistry(), true, maxBytes);
+    }
+
+    private String render(FragmentCache cache, String key) {
+        Consumer<Map<String, Object>> model = vars -> renders++;
+        return cache.render("t", "f", key, model);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.worknest.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paging through {@link TaskSearchIndex}: pages follow the ranking, and a page far past the
+ * last hit is empty but still reports the total, without allocating for the skipped hits.
+ */
+class TaskSearchIndexTests {
+
+    @Test
+    void pagesFollowTheRanking() {
+        TaskSearchIndex index = index(5);
+
+        SearchResults first = index.search("report", id -> true, 0, 2);
+        SearchResults last = index.search("report", id -> true, 4, 2);
+
+        assertThat(first.total()).isEqualTo(5);
+        assertThat(first.hits()).extracting(SearchHit::taskId).containsExactly(5L, 4L); // newer first on ties
+        assertThat(last.hits()).extracting(SearchHit::taskId).containsExactly(1L);
+    }
+
+    @Test
+    void pageFarPastTheEndIsEmpty() {
+        TaskSearchIndex index = index(3);
+
+        for (long offset : new long[]{3, 2_000_000_000L, (long) Integer.MAX_VALUE * 100}) {
+            SearchResults page = index.search("report", id -> true, offset, 100);
+            assertThat(page.hits()).as("offset %d", offset).isEmpty();
+            assertThat(page.total()).as("offset %d", offset).isEqualTo(3);
+        }
+    }
+
+    private static TaskSearchIndex index(int tasks) {
+        TaskSearchIndex index = new TaskSearchIndex();
+        for (long id = 1; id <= tasks; id++) {
+            index.addTask(id, "Quarterly report", null, false);
+        }
+        return index;
+    }
+}
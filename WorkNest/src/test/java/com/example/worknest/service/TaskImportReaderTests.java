@@ -0,0 +1,90 @@
+package com.example.worknest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The CSV side of {@link TaskImportReader}: RFC 4180 quoting (separators, escaped quotes and line
+ * breaks inside quotes), a header in any order, rows with too many fields reported without
+ * stopping the file, and a quote left open at the end of the file rejected as malformed.
+ */
+class TaskImportReaderTests {
+
+    @Test
+    void readsQuotedFields() throws IOException {
+        TaskImportReader reader = csv("title,description,assignees\n"
+                + "\"Plan, then build\",\"She said \"\"ship it\"\"\",alice; bob\n"
+                + "\"Two\nlines\",plain,\"\"\n");
+
+        TaskImportReader.Row first = reader.next();
+        assertThat(first.title()).isEqualTo("Plan, then build");
+        assertThat(first.description()).isEqualTo("She said \"ship it\"");
+        assertThat(first.assignees()).containsExactly("alice", "bob");
+
+        TaskImportReader.Row second = reader.next();
+        assertThat(second.number()).isEqualTo(2);
+        assertThat(second.title()).isEqualTo("Two\nlines");
+        assertThat(second.assignees()).isEmpty();
+
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void matchesColumnsByHeaderName() throws IOException {
+        TaskImportReader reader = csv("\uFEFFDueDate, Title ,startDate\r\n2025-03-01,Report,2025-02-01\r\n\r\n,Short\r\n");
+
+        TaskImportReader.Row first = reader.next();
+        assertThat(List.of(first.title(), first.startDate(), first.dueDate()))
+                .containsExactly("Report", "2025-02-01", "2025-03-01");
+        assertThat(first.description()).isNull();
+
+        // the blank line is skipped, a short row leaves the missing columns null
+        TaskImportReader.Row second = reader.next();
+        assertThat(second.number()).isEqualTo(2);
+        assertThat(second.title()).isEqualTo("Short");
+        assertThat(second.startDate()).isNull();
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void reportsRowsWithTooManyFields() throws IOException {
+        TaskImportReader reader = csv("""
+                title,assignees
+                Fix login, the second attempt,alice
+                Next,bob
+                """);
+
+        TaskImportReader.Row bad = reader.next();
+        assertThat(bad.number()).isEqualTo(1);
+        assertThat(bad.error()).isEqualTo("Expected at most 2 fields, found 3");
+
+        TaskImportReader.Row next = reader.next();
+        assertThat(next.error()).isNull();
+        assertThat(next.title()).isEqualTo("Next");
+    }
+
+    @Test
+    void rejectsQuoteOpenAtEndOfFile() throws IOException {
+        TaskImportReader reader = csv("""
+                title,description
+                Fine,ok
+                Broken,"never closed
+                """);
+
+        assertThat(reader.next().title()).isEqualTo("Fine");
+        assertThatThrownBy(reader::next).isInstanceOf(IOException.class).hasMessageContaining("not closed");
+    }
+
+    private static TaskImportReader csv(String content) throws IOException {
+        return TaskImportReader.open("tasks.csv", "text/csv",
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), new ObjectMapper());
+    }
+}
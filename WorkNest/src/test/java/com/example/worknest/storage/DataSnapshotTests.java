@@ -0,0 +1,234 @@
+package com.example.worknest.storage;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A snapshot of a populated database restores into an empty one row for row, nulls and
+ * sub-millisecond timestamps included, with the id sequences moved past every restored id. A
+ * snapshot from before the V2/V3 columns gets them filled in as those migrations did, and a
+ * restore that fails part-way leaves the database empty.
+ */
+class DataSnapshotTests {
+
+    private static final List<String> TABLES = List.of(
+            "users", "tasks", "task_assignees", "task_comments", "task_activity", "task_reassignment",
+            "archived_tasks", "archived_task_assignees", "archived_task_comments", "archived_task_activity",
+            "archived_task_reassignment");
+
+    private EmbeddedDatabase source;
+    private EmbeddedDatabase target;
+
+    @BeforeEach
+    void setUp() {
+        source = migrated();
+        target = migrated();
+    }
+
+    @AfterEach
+    void tearDown() {
+        source.shutdown();
+        target.shutdown();
+    }
+
+    @Test
+    void restoresWhatWasWritten() {
+        JdbcTemplate src = new JdbcTemplate(source);
+        src.update("insert into users values (1, 'alice', '{bcrypt}hash', 'ADMIN'), (2, 'bob', '{bcrypt}hash', 'USER')");
+        src.update("insert into tasks (id, title, description, status, start_date, due_date, frozen, deleted, overdue, " +
+                "reminder_days, version, completed_at, deleted_at, comment_count, activity_count, last_activity_at) values " +
+                "(1, 'Done', 'all of it', 'COMPLETED', date '2025-02-01', date '2025-03-01', false, false, false, " +
+                "3, 2, timestamp '2025-03-01 10:15:30.123456', null, 1, 0, timestamp '2025-03-02 08:00:00.000001'), " +
+                "(2, 'Open', null, 'PENDING', date '2025-02-01', date '2025-04-01', true, false, true, " +
+                "null, null, null, null, 0, 1, timestamp '2025-03-01 09:00:00.5')");
+        src.update("insert into task_assignees values (1, 1), (2, 2)");
+        src.update("insert into task_comments values (7, 1, 2, 'Looks good', timestamp '2025-03-02 08:00:00.000001')");
+        src.update("insert into task_activity values (3, 2, null, 'Created', null, timestamp '2025-03-01 09:00:00.5')");
+        src.update("insert into task_reassignment values (4, 1, 1, 2, null, timestamp '2025-03-01 11:00:00')");
+        src.update("insert into archived_tasks (id, title, description, status, start_date, due_date, frozen, deleted, " +
+                "overdue, reminder_days, version, completed_at, deleted_at, archived_at, comment_count, activity_count, " +
+                "last_activity_at) values (90, 'Old', null, 'COMPLETED', date '2024-01-01', date '2024-02-01', false, " +
+                "false, false, null, 5, timestamp '2024-02-01 12:00:00', null, timestamp '2025-01-01 00:00:00.999999', " +
+                "1, 0, timestamp '2024-02-01 12:00:00')");
+        src.update("insert into archived_task_comments values (120, 90, 1, 'Archived', timestamp '2024-02-01 12:00:00')");
+
+        byte[] snapshot = write(source);
+        Map<String, Long> rows = new DataSnapshot(target).restore(new ByteArrayInputStream(snapshot));
+
+        JdbcTemplate dst = new JdbcTemplate(target);
+        for (String table : TABLES) {
+            String all = "select * from " + table + " order by 1, 2";
+            assertThat(dst.queryForList(all)).as(table).isEqualTo(src.queryForList(all));
+            assertThat(rows.get(table)).as(table).isEqualTo(src.queryForObject("select count(*) from " + table, Long.class));
+        }
+        assertThat(dst.queryForObject("select completed_at from tasks where id = 1", LocalDateTime.class))
+                .isEqualTo(LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000));
+        assertThat(dst.queryForObject("select description from tasks where id = 2", String.class)).isNull();
+
+        // past the archived ids too, which get their ids back when restored
+        assertThat(dst.queryForObject("select next value for tasks_seq", Long.class)).isEqualTo(91);
+        assertThat(dst.queryForObject("select next value for task_comments_seq", Long.class)).isEqualTo(121);
+        assertThat(dst.queryForObject("select next value for users_seq", Long.class)).isEqualTo(3);
+    }
+
+    @Test
+    void fillsInColumnsOfOlderSnapshots() throws IOException {
+        LocalDateTime commented = LocalDateTime.of(2025, 3, 2, 8, 0, 0, 1_000);
+        OldSnapshot old = new OldSnapshot();
+        old.section("users", "id", "username", "password", "role");
+        old.row(1L, "alice", "{bcrypt}hash", "ADMIN");
+        old.end(1);
+        // tasks as of V1; description, reminder_days and version are nullable
+        old.section("tasks", "id", "title", "description", "status", "start_date", "due_date", "frozen", "deleted",
+                "overdue", "reminder_days", "version");
+        old.row(1L, "Done", null, "COMPLETED", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1), false, false, false,
+                null, null);
+        old.row(2L, "Dropped", null, "PENDING", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1), false, true, false,
+                null, null);
+        old.end(2);
+        old.section("task_comments", "id", "task_id", "author_id", "content", "created_at");
+        old.row(1L, 1L, 1L, "Looks good", commented);
+        old.end(1);
+
+        new DataSnapshot(target).restore(new ByteArrayInputStream(old.finish()));
+
+        JdbcTemplate dst = new JdbcTemplate(target);
+        Map<String, Object> done = dst.queryForMap("select * from tasks where id = 1");
+        assertThat(done.get("completed_at")).isNotNull();
+        assertThat(done.get("deleted_at")).isNull();
+        assertThat(done.get("comment_count")).isEqualTo(1);
+        assertThat(done.get("activity_count")).isEqualTo(0);
+        assertThat(dst.queryForObject("select last_activity_at from tasks where id = 1", LocalDateTime.class))
+                .isEqualTo(commented);
+
+        Map<String, Object> dropped = dst.queryForMap("select * from tasks where id = 2");
+        assertThat(dropped.get("completed_at")).isNull();
+        assertThat(dropped.get("deleted_at")).isNotNull();
+        assertThat(dropped.get("comment_count")).isEqualTo(0);
+    }
+
+    @Test
+    void failedRestoreLeavesTheDatabaseEmpty() {
+        JdbcTemplate src = new JdbcTemplate(source);
+        for (long id = 1; id <= 3_000; id++) {
+            src.update("insert into users values (?, ?, 'x', 'USER')", id, "user-" + id);
+        }
+        byte[] snapshot = write(source);
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length / 2);
+
+        DataSnapshot restore = new DataSnapshot(target);
+        assertThatThrownBy(() -> restore.restore(new ByteArrayInputStream(truncated)));
+        assertThat(restore.isEmpty()).isTrue();
+
+        restore.restore(new ByteArrayInputStream(snapshot));
+        assertThat(new JdbcTemplate(target).queryForObject("select count(*) from users", Long.class)).isEqualTo(3_000);
+    }
+
+    private static EmbeddedDatabase migrated() {
+        EmbeddedDatabase db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        Flyway.configure().dataSource(db).load().migrate();
+        return db;
+    }
+
+    private static byte[] write(EmbeddedDatabase db) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DataSnapshot(db).write(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the snapshot format by hand, for column sets the current {@link DataSnapshot} no
+     * longer writes. Null values mark their column nullable and are written as absent; strings
+     * and numbers in nullable columns are not used, so every other value is required.
+     */
+    private static final class OldSnapshot {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream data = new DataOutputStream(new DeflaterOutputStream(bytes));
+
+        OldSnapshot() throws IOException {
+            data.writeInt(0x574E5350);
+            data.writeInt(1);
+        }
+
+        void section(String table, String... columns) throws IOException {
+            data.writeBoolean(true);
+            string(table);
+            varLong(columns.length);
+            for (String column : columns) string(column);
+        }
+
+        void row(Object... values) throws IOException {
+            data.writeBoolean(true);
+            for (Object value : values) {
+                if (value == null) {
+                    data.writeBoolean(false);
+                } else if (value instanceof Long n) {
+                    varLong(n);
+                } else if (value instanceof String s) {
+                    string(s);
+                } else if (value instanceof Boolean b) {
+                    data.writeBoolean(b);
+                } else if (value instanceof LocalDate d) {
+                    varLong(d.toEpochDay());
+                } else if (value instanceof LocalDateTime t) {
+                    varLong(t.toEpochSecond(ZoneOffset.UTC));
+                    varLong(t.getNano());
+                } else {
+                    throw new IllegalArgumentException(value.toString());
+                }
+            }
+        }
+
+        void end(long rows) throws IOException {
+            data.writeBoolean(false);
+            varLong(rows);
+        }
+
+        byte[] finish() throws IOException {
+            data.writeBoolean(false);
+            data.close();
+            return bytes.toByteArray();
+        }
+
+        private void varLong(long value) throws IOException {
+            long v = (value << 1) ^ (value >> 63);
+            while ((v & ~0x7FL) != 0) {
+                data.writeByte((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            data.writeByte((int) v);
+        }
+
+        private void string(String value) throws IOException {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varLong(utf8.length);
+            data.write(utf8);
+        }
+    }
+}